@@ -0,0 +1,202 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.amlcurran.showcaseview;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.os.Debug;
+import android.test.AndroidTestCase;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Animates a real ShowcaseView, moving and resizing the showcase every frame the way its
+ * animations do, and checks that once a full cycle of the animation has warmed any caches up,
+ * the following frames don't allocate. Each frame goes through the same geometry update, text
+ * placement and {@link ShowcaseView#dispatchDraw(Canvas)} as on screen.
+ */
+public class DrawPathAllocationTest extends AndroidTestCase {
+
+  private static final int WIDTH = 1080;
+  private static final int HEIGHT = 1920;
+  // The animation grows the showcase and then shrinks it again over this many frames
+  private static final int CYCLE_FRAMES = 240;
+  private static final int COUNTED_FRAMES = 2 * CYCLE_FRAMES;
+  private static final int MIN_RADIUS = 60;
+  // Low enough in the window that the showcase stays in the same quadrant at every radius
+  private static final int SHOWCASE_Y = 1400;
+  private static final long BLUR_TIMEOUT_SECONDS = 5;
+
+  private Bitmap target;
+  private Canvas canvas;
+  private FrameLayout window;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    target = Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888);
+    canvas = new Canvas(target);
+    window = new FrameLayout(getContext());
+    View content = new View(getContext());
+    content.setBackgroundColor(Color.WHITE);
+    window.addView(content, matchParent());
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    target.recycle();
+    super.tearDown();
+  }
+
+  public void testStandardStyleDoesNotAllocate() throws InterruptedException {
+    assertNoAllocations(createShowcaseView(false), styleDrawer());
+  }
+
+  public void testNewStyleDoesNotAllocate() throws InterruptedException {
+    assertNoAllocations(createShowcaseView(true), new NewShowcaseDrawer(getResources()));
+  }
+
+  public void testTextPlacedAroundShowcaseDoesNotAllocate() throws InterruptedException {
+    ShowcaseView showcaseView = createShowcaseView(false);
+    showcaseView.setPlaceTextAroundShowcase(true);
+    assertNoAllocations(showcaseView, styleDrawer());
+  }
+
+  public void testDirectDrawerDoesNotAllocate() throws InterruptedException {
+    assertNoAllocations(createShowcaseView(false), new DirectShowcaseDrawer(styleDrawer()));
+  }
+
+  public void testMaskDrawerDoesNotAllocate() throws InterruptedException {
+    assertNoAllocations(createShowcaseView(false), new MaskShowcaseDrawer(styleDrawer()));
+  }
+
+  public void testShaderDrawerDoesNotAllocate() throws InterruptedException {
+    assertNoAllocations(createShowcaseView(false), new ShaderShowcaseDrawer(styleDrawer(), true));
+  }
+
+  public void testScaledDrawerDoesNotAllocate() throws InterruptedException {
+    assertNoAllocations(createShowcaseView(false), new ScaledShowcaseDrawer(styleDrawer(), 2, true));
+  }
+
+  public void testPatchDrawerDoesNotAllocate() throws InterruptedException {
+    assertNoAllocations(createShowcaseView(false), new PatchShowcaseDrawer(styleDrawer()));
+  }
+
+  public void testIncrementalDrawerDoesNotAllocate() throws InterruptedException {
+    assertNoAllocations(createShowcaseView(false), new IncrementalShowcaseDrawer(styleDrawer()));
+  }
+
+  public void testStampDrawerDoesNotAllocate() throws InterruptedException {
+    assertNoAllocations(createShowcaseView(false), new StampShowcaseDrawer(styleDrawer()));
+  }
+
+  public void testBlurDrawerDoesNotAllocate() throws InterruptedException {
+    ShowcaseView showcaseView = createShowcaseView(false);
+    assertNoAllocations(showcaseView, new BlurShowcaseDrawer(styleDrawer(), showcaseView, 4, 8));
+  }
+
+  private Resources getResources() {
+    return getContext().getResources();
+  }
+
+  private StandardShowcaseDrawer styleDrawer() {
+    return new StandardShowcaseDrawer(getResources());
+  }
+
+  private static FrameLayout.LayoutParams matchParent() {
+    return new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+        ViewGroup.LayoutParams.MATCH_PARENT);
+  }
+
+  private ShowcaseView createShowcaseView(boolean newStyle) {
+    ShowcaseView showcaseView = new ShowcaseView(getContext(), newStyle);
+    showcaseView.setContentTitle("Title");
+    showcaseView.setContentText("Some text which is long enough to wrap onto a second line");
+    window.addView(showcaseView, matchParent());
+    layoutWindow();
+    return showcaseView;
+  }
+
+  private void layoutWindow() {
+    window.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+        View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+    window.layout(0, 0, WIDTH, HEIGHT);
+  }
+
+  private void assertNoAllocations(ShowcaseView showcaseView, ShowcaseDrawer drawer)
+      throws InterruptedException {
+    // Also sizes the buffer to the laid out ShowcaseView
+    showcaseView.setShowcaseDrawer(drawer);
+    // As show() would, so the blur drawer has a blurred picture to draw
+    drawer.prepare(showcaseView);
+    waitForBackgroundWork();
+    for (int i = 0; i < CYCLE_FRAMES; i++) {
+      drawFrame(showcaseView, i);
+    }
+
+    Debug.startAllocCounting();
+    Debug.resetThreadAllocCount();
+    for (int i = 0; i < COUNTED_FRAMES; i++) {
+      drawFrame(showcaseView, CYCLE_FRAMES + i);
+    }
+    int allocations = Debug.getThreadAllocCount();
+    Debug.stopAllocCounting();
+
+    drawer.release();
+    window.removeView(showcaseView);
+    assertEquals(drawer.getClass().getSimpleName() + " allocated while animating", 0, allocations);
+  }
+
+  /**
+   * Background work runs in order and hands its results back to the main thread in order, so
+   * once this has made the round trip, any work queued before it has finished
+   */
+  private static void waitForBackgroundWork() throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(1);
+    BackgroundWork.execute(new Runnable() {
+      @Override
+      public void run() {
+        BackgroundWork.postToMain(new Runnable() {
+          @Override
+          public void run() {
+            latch.countDown();
+          }
+        });
+      }
+    });
+    assertTrue("Background work didn't finish", latch.await(BLUR_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+  }
+
+  /**
+   * A frame of an animation which moves the showcase sideways while growing it, then back while
+   * shrinking it, so the radius is different in every frame of each half
+   */
+  private void drawFrame(ShowcaseView showcaseView, int frame) {
+    int step = frame % CYCLE_FRAMES;
+    int offset = step < CYCLE_FRAMES / 2 ? step : CYCLE_FRAMES - step;
+    showcaseView.applyGeometry(300 + offset / 2, SHOWCASE_Y, MIN_RADIUS + offset, false);
+    if (window.isLayoutRequested()) {
+      layoutWindow();
+    }
+    showcaseView.draw(canvas);
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Rect;
+
+import junit.framework.TestCase;
+
+public class TextRegionCalculatorTest extends TestCase {
+
+  private static final float PADDING = 10;
+  private static final float ACTION_BAR_OFFSET = 50;
+  private static final float TEXT_SIZE = 20;
+
+  private TextRegionCalculator calculator;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    calculator = new TextRegionCalculator(PADDING, ACTION_BAR_OFFSET);
+  }
+
+  public void testPicksTheRegionWithTheMostSpace() {
+    calculator.calculate(1000, 2000, new Rect(400, 100, 600, 300), null, false, TEXT_SIZE);
+
+    assertEquals(TextRegionCalculator.REGION_BOTTOM, calculator.getRegion());
+    assertEquals(1000L * 1700L, calculator.getScore());
+    assertEquals(PADDING, calculator.getTextX());
+    assertEquals(300 + PADDING, calculator.getTextY());
+    assertEquals(1000 - 2 * PADDING, calculator.getTextWidth());
+  }
+
+  public void testHugeCanvasesDoNotOverflow() {
+    int size = 100000;
+    calculator.calculate(size, size, new Rect(0, 0, 100, 200), null, false, TEXT_SIZE);
+
+    // Both areas are far beyond Integer.MAX_VALUE, and would wrap if worked out in ints
+    assertEquals(TextRegionCalculator.REGION_RIGHT, calculator.getRegion());
+    assertEquals((long) (size - 100) * size, calculator.getScore());
+    assertTrue(calculator.getScore() > Integer.MAX_VALUE);
+  }
+
+  public void testHugeCanvasesCompareRegionsCorrectly() {
+    // In ints, the bottom region's area wraps negative and the smaller right region would win
+    calculator.calculate(50000, 50000, new Rect(20000, 100, 20100, 200), null, false, TEXT_SIZE);
+
+    assertEquals(TextRegionCalculator.REGION_BOTTOM, calculator.getRegion());
+    assertEquals(50000L * 49800L, calculator.getScore());
+  }
+
+  public void testSpaceUnderTheImageIsNotCounted() {
+    Rect showcase = new Rect(0, 900, 1000, 1100);
+    calculator.calculate(1000, 2000, showcase, new Rect(0, 0, 1000, 500), false, TEXT_SIZE);
+
+    assertEquals(TextRegionCalculator.REGION_BOTTOM, calculator.getRegion());
+  }
+
+  public void testRegionsThinnerThanTheTextScoreNothing() {
+    calculator.calculate(1000, 1000, new Rect(5, 5, 995, 995), null, false, TEXT_SIZE);
+
+    assertEquals(0, calculator.getScore());
+  }
+
+  public void testSameInputsAreNotRecalculated() {
+    assertTrue(calculator.calculate(1000, 2000, new Rect(400, 100, 600, 300), null, false, TEXT_SIZE));
+
+    // An equal rect, rather than the same instance, still counts as the same input
+    assertFalse(calculator.calculate(1000, 2000, new Rect(400, 100, 600, 300), null, false, TEXT_SIZE));
+    assertEquals(TextRegionCalculator.REGION_BOTTOM, calculator.getRegion());
+  }
+
+  public void testInputsAreCopiedRatherThanKept() {
+    Rect showcase = new Rect(400, 100, 600, 300);
+    calculator.calculate(1000, 2000, showcase, null, false, TEXT_SIZE);
+
+    showcase.offset(0, 1500);
+
+    assertTrue(calculator.calculate(1000, 2000, showcase, null, false, TEXT_SIZE));
+    assertEquals(TextRegionCalculator.REGION_TOP, calculator.getRegion());
+  }
+
+  public void testAnyChangedInputIsRecalculated() {
+    Rect showcase = new Rect(400, 100, 600, 300);
+    Rect image = new Rect(0, 0, 100, 100);
+    calculator.calculate(1000, 2000, showcase, null, false, TEXT_SIZE);
+
+    assertTrue(calculator.calculate(1001, 2000, showcase, null, false, TEXT_SIZE));
+    assertTrue(calculator.calculate(1001, 2001, showcase, null, false, TEXT_SIZE));
+    assertTrue(calculator.calculate(1001, 2001, new Rect(400, 100, 600, 301), null, false, TEXT_SIZE));
+    assertTrue(calculator.calculate(1001, 2001, new Rect(400, 100, 600, 301), image, false, TEXT_SIZE));
+    assertTrue(calculator.calculate(1001, 2001, new Rect(400, 100, 600, 301), new Rect(0, 0, 100, 101),
+        false, TEXT_SIZE));
+    assertTrue(calculator.calculate(1001, 2001, new Rect(400, 100, 600, 301), new Rect(0, 0, 100, 101),
+        true, TEXT_SIZE));
+    assertTrue(calculator.calculate(1001, 2001, new Rect(400, 100, 600, 301), new Rect(0, 0, 100, 101),
+        true, TEXT_SIZE + 1));
+    assertFalse(calculator.calculate(1001, 2001, new Rect(400, 100, 600, 301), new Rect(0, 0, 100, 101),
+        true, TEXT_SIZE + 1));
+  }
+}
@@ -20,7 +20,8 @@ import android.graphics.Point;
 import android.view.View;
 
 interface AnimationFactory {
-  void fadeInView(View target, long duration, AnimationStartListener listener);
+  void fadeInView(View target, long duration, AnimationStartListener startListener,
+                  AnimationEndListener endListener);
 
   void fadeOutView(View target, long duration, AnimationEndListener listener);
 
@@ -17,8 +17,8 @@
 package com.github.amlcurran.showcaseview;
 
 import android.animation.Animator;
-import android.animation.AnimatorSet;
 import android.animation.ObjectAnimator;
+import android.animation.ValueAnimator;
 import android.graphics.Point;
 import android.view.View;
 import android.view.animation.AccelerateDecelerateInterpolator;
@@ -30,22 +30,25 @@ class AnimatorAnimationFactory implements AnimationFactory {
   private static final float VISIBLE = 1f;
 
   private final AccelerateDecelerateInterpolator interpolator;
+  private ValueAnimator targetAnimator;
 
   public AnimatorAnimationFactory() {
     interpolator = new AccelerateDecelerateInterpolator();
   }
 
   @Override
-  public void fadeInView(View target, long duration, final AnimationStartListener listener) {
+  public void fadeInView(View target, long duration, final AnimationStartListener startListener,
+                         final AnimationEndListener endListener) {
     ObjectAnimator oa = ObjectAnimator.ofFloat(target, ALPHA, INVISIBLE, VISIBLE);
     oa.setDuration(duration).addListener(new Animator.AnimatorListener() {
       @Override
       public void onAnimationStart(Animator animator) {
-        listener.onAnimationStart();
+        startListener.onAnimationStart();
       }
 
       @Override
       public void onAnimationEnd(Animator animator) {
+        endListener.onAnimationEnd();
       }
 
       @Override
@@ -84,13 +87,54 @@ class AnimatorAnimationFactory implements AnimationFactory {
   }
 
   @Override
-  public void animateTargetToPoint(ShowcaseView showcaseView, Point point, float radius) {
-    AnimatorSet set = new AnimatorSet();
-    ObjectAnimator xAnimator = ObjectAnimator.ofInt(showcaseView, "showcaseX", point.x);
-    ObjectAnimator yAnimator = ObjectAnimator.ofInt(showcaseView, "showcaseY", point.y);
-    ObjectAnimator radiusAnimator = ObjectAnimator.ofFloat(showcaseView, "showcaseRadius", radius);
-    set.playTogether(xAnimator, yAnimator, radiusAnimator);
-    set.setInterpolator(interpolator);
-    set.start();
+  public void animateTargetToPoint(final ShowcaseView showcaseView, final Point point, final float radius) {
+    final int startX = showcaseView.getShowcaseX();
+    final int startY = showcaseView.getShowcaseY();
+    final float startRadius = showcaseView.getShowcaseRadius();
+    // A newer target takes over from one which is still being animated to
+    if (targetAnimator != null) {
+      targetAnimator.cancel();
+    }
+    ValueAnimator animator = ValueAnimator.ofFloat(0f, 1f);
+    animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+      @Override
+      public void onAnimationUpdate(ValueAnimator animation) {
+        float fraction = (Float) animation.getAnimatedValue();
+        showcaseView.setShowcaseGeometry(
+            startX + Math.round((point.x - startX) * fraction),
+            startY + Math.round((point.y - startY) * fraction),
+            startRadius + (radius - startRadius) * fraction);
+      }
+    });
+    animator.addListener(new Animator.AnimatorListener() {
+      private boolean cancelled;
+
+      @Override
+      public void onAnimationStart(Animator animator) {
+      }
+
+      @Override
+      public void onAnimationEnd(Animator animator) {
+        if (targetAnimator == animator) {
+          targetAnimator = null;
+        }
+        // onAnimationEnd() follows a cancel too, but then the showcase is heading elsewhere
+        if (!cancelled) {
+          showcaseView.moveShowcaseTo(point.x, point.y, radius);
+        }
+      }
+
+      @Override
+      public void onAnimationCancel(Animator animator) {
+        cancelled = true;
+      }
+
+      @Override
+      public void onAnimationRepeat(Animator animator) {
+      }
+    });
+    animator.setInterpolator(interpolator);
+    targetAnimator = animator;
+    animator.start();
   }
 }
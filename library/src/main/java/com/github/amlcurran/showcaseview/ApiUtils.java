@@ -36,4 +36,13 @@ public class ApiUtils {
       view.setFitsSystemWindows(true);
     }
   }
+
+  @TargetApi(16)
+  public void postOnAnimationCompat(View view, Runnable runnable) {
+    if (isCompatWith(Build.VERSION_CODES.JELLY_BEAN)) {
+      view.postOnAnimation(runnable);
+    } else {
+      view.post(runnable);
+    }
+  }
 }
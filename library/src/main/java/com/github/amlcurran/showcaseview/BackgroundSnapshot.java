@@ -0,0 +1,227 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.view.SurfaceView;
+import android.view.TextureView;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.accessibility.AccessibilityEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A (possibly downsampled) picture of everything in a window except the {@link ShowcaseView}.
+ * The bitmap comes from the {@link BitmapPool}, and is at the window's size divided by the
+ * sample size.
+ * <p/>
+ * Content in a {@link SurfaceView} (including GLSurfaceView, which maps use) or a
+ * {@link TextureView} isn't drawn by {@link View#draw(Canvas)}, so a window containing one
+ * can't be captured; it is left to draw live instead.
+ */
+class BackgroundSnapshot {
+
+  private final int sampleSize;
+  private final Paint scalePaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+  private final Canvas canvas = new Canvas();
+  private Bitmap bitmap;
+  private int capturedWidth;
+  private int capturedHeight;
+
+  // Views hidden by freeze(), which were all visible beforehand
+  private final List<View> frozenViews = new ArrayList<View>();
+  private ViewGroup frozenWindow;
+  // Hiding a view takes focus away from it, so it's given back on unfreeze()
+  private View frozenFocus;
+
+  BackgroundSnapshot(int sampleSize) {
+    this.sampleSize = sampleSize;
+  }
+
+  int getSampleSize() {
+    return sampleSize;
+  }
+
+  Bitmap getBitmap() {
+    return bitmap;
+  }
+
+  /**
+   * @return the width of the captured area of the bitmap, which may be smaller than the bitmap
+   */
+  int getScaledWidth() {
+    return (capturedWidth + sampleSize - 1) / sampleSize;
+  }
+
+  int getScaledHeight() {
+    return (capturedHeight + sampleSize - 1) / sampleSize;
+  }
+
+  boolean hasCaptured(ViewGroup window) {
+    return bitmap != null && capturedWidth == window.getWidth() && capturedHeight == window.getHeight();
+  }
+
+  /**
+   * Draw the window, apart from the excluded view, into the snapshot
+   *
+   * @return true if a snapshot was taken, false if the window hasn't been laid out yet or has
+   * content which can't be captured
+   */
+  boolean capture(ViewGroup window, View excluded) {
+    int width = window.getWidth();
+    int height = window.getHeight();
+    if (width <= 0 || height <= 0 || hasSurfaceContent(window, excluded)) {
+      return false;
+    }
+    int scaledWidth = (width + sampleSize - 1) / sampleSize;
+    int scaledHeight = (height + sampleSize - 1) / sampleSize;
+    if (!BitmapPool.isReusable(bitmap, scaledWidth, scaledHeight, Bitmap.Config.ARGB_8888)) {
+      releaseBitmap();
+      bitmap = BitmapPool.getInstance().acquire(scaledWidth, scaledHeight, Bitmap.Config.ARGB_8888);
+    }
+    bitmap.eraseColor(0);
+    canvas.setBitmap(bitmap);
+    canvas.save();
+    canvas.scale(1f / sampleSize, 1f / sampleSize);
+    Drawable windowBackground = window.getBackground();
+    if (windowBackground != null) {
+      windowBackground.draw(canvas);
+    }
+    for (int i = 0; i < window.getChildCount(); i++) {
+      View child = window.getChildAt(i);
+      // Frozen views are invisible by now, but are still part of the picture
+      if (child == excluded || (child.getVisibility() != View.VISIBLE && !frozenViews.contains(child))) {
+        continue;
+      }
+      canvas.save();
+      canvas.translate(child.getLeft() - child.getScrollX(), child.getTop() - child.getScrollY());
+      child.draw(canvas);
+      canvas.restore();
+    }
+    canvas.restore();
+    capturedWidth = width;
+    capturedHeight = height;
+    return true;
+  }
+
+  /**
+   * @return true if a visible view in the group, apart from the excluded one, draws through a
+   * surface rather than onto the view's canvas
+   */
+  private static boolean hasSurfaceContent(ViewGroup group, View excluded) {
+    for (int i = 0; i < group.getChildCount(); i++) {
+      View child = group.getChildAt(i);
+      if (child == excluded || child.getVisibility() != View.VISIBLE) {
+        continue;
+      }
+      if (child instanceof SurfaceView || isTextureView(child) ||
+          (child instanceof ViewGroup && hasSurfaceContent((ViewGroup) child, excluded))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isTextureView(View view) {
+    // TextureView was added in API 14
+    return Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH && view instanceof TextureView;
+  }
+
+  /**
+   * Hide every visible view in the window apart from the excluded one, so they stop drawing.
+   * {@link #unfreeze()} puts them back, along with the focus.
+   */
+  void freeze(ViewGroup window, View excluded) {
+    frozenWindow = window;
+    View focused = window.findFocus();
+    if (focused != null && frozenFocus == null && !isInside(focused, excluded)) {
+      frozenFocus = focused;
+    }
+    for (int i = 0; i < window.getChildCount(); i++) {
+      View child = window.getChildAt(i);
+      if (child != excluded && child.getVisibility() == View.VISIBLE && !frozenViews.contains(child)) {
+        frozenViews.add(child);
+        child.setVisibility(View.INVISIBLE);
+      }
+    }
+  }
+
+  void unfreeze() {
+    for (int i = 0; i < frozenViews.size(); i++) {
+      View view = frozenViews.get(i);
+      // Leave alone any view which the app has changed the visibility of in the meantime
+      if (view.getVisibility() == View.INVISIBLE) {
+        view.setVisibility(View.VISIBLE);
+      }
+    }
+    frozenViews.clear();
+    if (frozenFocus != null && frozenFocus.isShown()) {
+      frozenFocus.requestFocus();
+    }
+    frozenFocus = null;
+    if (frozenWindow != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+      // Let accessibility services know the content is back
+      frozenWindow.sendAccessibilityEvent(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED);
+    }
+    frozenWindow = null;
+  }
+
+  private static boolean isInside(View view, View ancestor) {
+    for (Object current = view; current instanceof View; current = ((View) current).getParent()) {
+      if (current == ancestor) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Draw the snapshot, scaled back up to the window's size, onto a canvas which is in the
+   * coordinates of the given view
+   */
+  void draw(Canvas target, View view) {
+    if (bitmap == null) {
+      return;
+    }
+    target.save();
+    target.translate(-view.getLeft(), -view.getTop());
+    target.scale(sampleSize, sampleSize);
+    target.drawBitmap(bitmap, 0, 0, scalePaint);
+    target.restore();
+  }
+
+  void release() {
+    unfreeze();
+    releaseBitmap();
+  }
+
+  private void releaseBitmap() {
+    if (bitmap != null) {
+      canvas.setBitmap(null);
+      BitmapPool.getInstance().release(bitmap);
+      bitmap = null;
+      capturedWidth = 0;
+      capturedHeight = 0;
+    }
+  }
+}
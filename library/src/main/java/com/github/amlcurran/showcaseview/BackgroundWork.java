@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.amlcurran.showcaseview;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A single background thread for work which is too slow to do while drawing, such as blurring or
+ * measuring text, and a way to hand the results back to the main thread
+ */
+class BackgroundWork {
+
+  private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "ShowcaseView background");
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+  static void execute(Runnable work) {
+    EXECUTOR.execute(work);
+  }
+
+  static void postToMain(Runnable result) {
+    MAIN_HANDLER.post(result);
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Bitmap;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+
+/**
+ * A process-wide pool of the offscreen buffers used by {@link ShowcaseView}s, so that showing a
+ * series of ShowcaseViews doesn't allocate a new screen-sized bitmap for each one.
+ * <p/>
+ * Buffers are handed out with their sizes rounded up to a bucket, and a buffer is reused for any
+ * request it is big enough for, as long as it isn't more than a bucket too large. Small changes
+ * in size, such as the soft keyboard showing or a multi-window resize, therefore reuse the
+ * existing buffer. When the pool holds more than its byte cap, the least recently returned
+ * buffers are recycled.
+ */
+public final class BitmapPool {
+
+  private static final int BUCKET_SIZE = 64;
+
+  private static final BitmapPool INSTANCE = new BitmapPool(Runtime.getRuntime().maxMemory() / 16);
+
+  private final LinkedList<Bitmap> pooled = new LinkedList<Bitmap>();
+  private long maxBytes;
+  private long bytesHeld;
+  private int hitCount;
+  private int missCount;
+  private int evictionCount;
+
+  BitmapPool(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  public static BitmapPool getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * @return true if the bitmap can be used as a buffer of the given size and config
+   */
+  static boolean isReusable(Bitmap bitmap, int width, int height, Bitmap.Config config) {
+    return bitmap != null && !bitmap.isRecycled() && bitmap.getConfig() == config &&
+        fits(bitmap.getWidth(), width) && fits(bitmap.getHeight(), height);
+  }
+
+  private static boolean fits(int actual, int requested) {
+    return actual >= requested && actual <= bucket(requested) + BUCKET_SIZE;
+  }
+
+  private static int bucket(int size) {
+    return (size + BUCKET_SIZE - 1) / BUCKET_SIZE * BUCKET_SIZE;
+  }
+
+  private static long sizeOf(Bitmap bitmap) {
+    return (long) bitmap.getRowBytes() * bitmap.getHeight();
+  }
+
+  /**
+   * Get a mutable buffer which is at least the requested size. Its contents are undefined.
+   */
+  synchronized Bitmap acquire(int width, int height, Bitmap.Config config) {
+    Iterator<Bitmap> iterator = pooled.iterator();
+    while (iterator.hasNext()) {
+      Bitmap bitmap = iterator.next();
+      if (isReusable(bitmap, width, height, config)) {
+        iterator.remove();
+        bytesHeld -= sizeOf(bitmap);
+        hitCount++;
+        return bitmap;
+      }
+    }
+    missCount++;
+    return Bitmap.createBitmap(bucket(width), bucket(height), config);
+  }
+
+  /**
+   * Return a buffer to the pool. The caller must not use it afterwards.
+   */
+  synchronized void release(Bitmap bitmap) {
+    if (bitmap == null || bitmap.isRecycled()) {
+      return;
+    }
+    if (!bitmap.isMutable()) {
+      bitmap.recycle();
+      return;
+    }
+    pooled.addLast(bitmap);
+    bytesHeld += sizeOf(bitmap);
+    trimToSize(maxBytes);
+  }
+
+  private void trimToSize(long size) {
+    while (bytesHeld > size && !pooled.isEmpty()) {
+      Bitmap eldest = pooled.removeFirst();
+      bytesHeld -= sizeOf(eldest);
+      eldest.recycle();
+      evictionCount++;
+    }
+  }
+
+  /**
+   * Set the maximum number of bytes the pool holds on to while buffers aren't in use.
+   */
+  public synchronized void setMaxBytes(long maxBytes) {
+    this.maxBytes = maxBytes;
+    trimToSize(maxBytes);
+  }
+
+  public synchronized long getMaxBytes() {
+    return maxBytes;
+  }
+
+  /**
+   * Recycle every buffer the pool is holding, for example in response to
+   * {@link android.content.ComponentCallbacks2#onTrimMemory(int)}
+   */
+  public synchronized void clear() {
+    trimToSize(0);
+  }
+
+  public synchronized long getBytesHeld() {
+    return bytesHeld;
+  }
+
+  public synchronized int getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized int getMissCount() {
+    return missCount;
+  }
+
+  public synchronized int getEvictionCount() {
+    return evictionCount;
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.amlcurran.showcaseview;
+
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Draws the background as a blurred picture of the content behind the ShowcaseView, tinted with
+ * the background colour, with the showcase cut out of it. The picture is taken at a reduced size
+ * when the showcase is shown, and again only when the window's size or configuration changes.
+ * It is blurred on a background thread; until that is done, only the tint is drawn.
+ */
+class BlurShowcaseDrawer extends DelegatingShowcaseDrawer {
+
+  private final View showcaseView;
+  private final int blurRadius;
+  private final BackgroundSnapshot snapshot;
+  private final BoxBlur boxBlur = new BoxBlur();
+  private final Paint blurPaint;
+  private final Paint tintPaint;
+  private final Matrix shaderMatrix = new Matrix();
+  private Bitmap blurredBitmap;
+
+  // What the current blur was taken from, so it's only redone when that changes
+  private final Configuration blurredConfiguration = new Configuration();
+  private int blurredWidth = -1;
+  private int blurredHeight = -1;
+  // Bumped to throw away blurs which are still in progress
+  private int generation;
+
+  public BlurShowcaseDrawer(StandardShowcaseDrawer styleDrawer, View showcaseView, int sampleSize, int blurRadius) {
+    super(styleDrawer);
+    this.showcaseView = showcaseView;
+    this.blurRadius = blurRadius;
+    snapshot = new BackgroundSnapshot(sampleSize);
+    blurPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    blurPaint.setAntiAlias(true);
+    tintPaint = new Paint();
+    tintPaint.setAntiAlias(true);
+    tintPaint.setColor(getBackgroundColour());
+  }
+
+  @Override
+  public void setBackgroundColour(int backgroundColor) {
+    super.setBackgroundColour(backgroundColor);
+    // The tint is drawn separately, so the blur doesn't need redoing
+    tintPaint.setColor(backgroundColor);
+  }
+
+  @Override
+  public Bitmap.Config getBufferConfig() {
+    return null;
+  }
+
+  @Override
+  public void prepare(View view) {
+    if (!(view.getParent() instanceof ViewGroup)) {
+      return;
+    }
+    ViewGroup window = (ViewGroup) view.getParent();
+    Configuration configuration = view.getResources().getConfiguration();
+    if (window.getWidth() == blurredWidth && window.getHeight() == blurredHeight &&
+        blurredConfiguration.diff(configuration) == 0) {
+      return;
+    }
+    if (!snapshot.capture(window, view)) {
+      return;
+    }
+    blurredWidth = window.getWidth();
+    blurredHeight = window.getHeight();
+    blurredConfiguration.setTo(configuration);
+
+    // Only the captured area is blurred, not the rest of the pooled bitmap
+    final int width = snapshot.getScaledWidth();
+    final int height = snapshot.getScaledHeight();
+    final int[] pixels = new int[width * height];
+    snapshot.getBitmap().getPixels(pixels, 0, width, 0, 0, width, height);
+    snapshot.release();
+
+    final int blurGeneration = ++generation;
+    BackgroundWork.execute(new Runnable() {
+      @Override
+      public void run() {
+        boxBlur.blur(pixels, width, height, blurRadius);
+        final Bitmap blurred = Bitmap.createBitmap(pixels, width, height, Bitmap.Config.ARGB_8888);
+        BackgroundWork.postToMain(new Runnable() {
+          @Override
+          public void run() {
+            if (blurGeneration == generation) {
+              showBlur(blurred);
+            }
+          }
+        });
+      }
+    });
+  }
+
+  private void showBlur(Bitmap blurred) {
+    BitmapShader shader = new BitmapShader(blurred, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP);
+    shaderMatrix.setScale(snapshot.getSampleSize(), snapshot.getSampleSize());
+    shaderMatrix.postTranslate(-showcaseView.getLeft(), -showcaseView.getTop());
+    shader.setLocalMatrix(shaderMatrix);
+    blurPaint.setShader(shader);
+    blurredBitmap = blurred;
+    showcaseView.invalidate();
+  }
+
+  @Override
+  public void release() {
+    generation++;
+    snapshot.release();
+    blurredBitmap = null;
+    blurPaint.setShader(null);
+    blurredWidth = -1;
+    blurredHeight = -1;
+  }
+
+  @Override
+  public void drawToCanvas(Canvas canvas, Bitmap bitmapBuffer) {
+    if (blurredBitmap != null) {
+      drawAroundHoles(canvas, blurPaint, 0);
+    }
+    drawAroundHoles(canvas, tintPaint, 0);
+    drawHighlights(canvas);
+  }
+}
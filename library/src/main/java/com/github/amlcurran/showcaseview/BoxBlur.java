@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.amlcurran.showcaseview;
+
+/**
+ * Blurs pixels in place with a few passes of a box blur, which together look close to a
+ * gaussian blur. Meant for small, downsampled pictures; the scratch array is kept between calls.
+ */
+class BoxBlur {
+
+  private static final int PASSES = 3;
+
+  private int[] scratch = new int[0];
+
+  /**
+   * Blur the first width * height pixels of the array in place. It can be called off the main
+   * thread, as long as each BoxBlur is only used by one thread at a time.
+   */
+  void blur(int[] pixels, int width, int height, int radius) {
+    if (radius < 1 || width == 0 || height == 0) {
+      return;
+    }
+    ensureCapacity(width * height);
+    for (int i = 0; i < PASSES; i++) {
+      // Each pass blurs the rows and writes them out as columns, so doing it twice covers both
+      // directions and leaves the pixels the right way round
+      blurRows(pixels, scratch, width, height, radius);
+      blurRows(scratch, pixels, height, width, radius);
+    }
+  }
+
+  private void ensureCapacity(int size) {
+    if (scratch.length < size) {
+      scratch = new int[size];
+    }
+  }
+
+  private static void blurRows(int[] in, int[] out, int width, int height, int radius) {
+    int window = radius * 2 + 1;
+    int last = width - 1;
+    for (int y = 0; y < height; y++) {
+      int rowStart = y * width;
+      int a = 0, r = 0, g = 0, b = 0;
+      for (int i = -radius; i <= radius; i++) {
+        int pixel = in[rowStart + Math.min(Math.max(i, 0), last)];
+        a += pixel >>> 24;
+        r += (pixel >> 16) & 0xFF;
+        g += (pixel >> 8) & 0xFF;
+        b += pixel & 0xFF;
+      }
+      for (int x = 0; x < width; x++) {
+        out[x * height + y] = ((a / window) << 24) | ((r / window) << 16) | ((g / window) << 8) | (b / window);
+        int incoming = in[rowStart + Math.min(x + radius + 1, last)];
+        int outgoing = in[rowStart + Math.max(x - radius, 0)];
+        a += (incoming >>> 24) - (outgoing >>> 24);
+        r += ((incoming >> 16) & 0xFF) - ((outgoing >> 16) & 0xFF);
+        g += ((incoming >> 8) & 0xFF) - ((outgoing >> 8) & 0xFF);
+        b += (incoming & 0xFF) - (outgoing & 0xFF);
+      }
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+
+/**
+ * Holds a single {@link Canvas} for drawing into a buffer, so drawers don't need to create a new
+ * one every frame. The canvas is only pointed at a new bitmap when the buffer changes, and can be
+ * clipped to the area being redrawn until the clip is next changed.
+ */
+class BufferCanvas {
+
+  private final Canvas canvas = new Canvas();
+  private final Rect clip = new Rect();
+  private Bitmap bitmap;
+
+  public Canvas get(Bitmap buffer) {
+    if (buffer != bitmap) {
+      canvas.setBitmap(buffer);
+      bitmap = buffer;
+    }
+    return canvas;
+  }
+
+  /**
+   * Limit drawing into the buffer to an area of the view, or lift the limit if the area is null
+   *
+   * @param sampleSize how many times smaller than the view the buffer is. The clip is rounded
+   *                   outwards to whole pixels of the buffer.
+   * @return the clipped canvas
+   */
+  Canvas setClip(Bitmap buffer, Rect area, int sampleSize) {
+    Canvas canvas = get(buffer);
+    canvas.restoreToCount(1);
+    if (area != null) {
+      clip.set(area.left / sampleSize, area.top / sampleSize,
+          (area.right + sampleSize - 1) / sampleSize, (area.bottom + sampleSize - 1) / sampleSize);
+      canvas.save();
+      canvas.clipRect(clip);
+    }
+    return canvas;
+  }
+}
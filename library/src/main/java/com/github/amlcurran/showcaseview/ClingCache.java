@@ -0,0 +1,105 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.PorterDuff;
+import android.graphics.drawable.Drawable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache, shared by all {@link StandardShowcaseDrawer}s, of the cling drawable already tinted
+ * and rasterised at the size it is drawn at. Drawing the cling is then a plain bitmap draw,
+ * without a colour filter or any scaling.
+ */
+class ClingCache {
+
+  private static final int MAX_ENTRIES = 4;
+
+  private static final Map<Key, Bitmap> CACHE = new LinkedHashMap<Key, Bitmap>(MAX_ENTRIES, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Key, Bitmap> eldest) {
+      // Evicted bitmaps may still be in use by a drawer, so they're left to the GC
+      return size() > MAX_ENTRIES;
+    }
+  };
+
+  /**
+   * Get the cling drawable tinted with the given colour and rasterised at the given size,
+   * rendering it if it isn't already cached
+   */
+  static Bitmap get(Drawable cling, int colour, int densityDpi, int width, int height) {
+    Key key = new Key(colour, densityDpi, width, height);
+    synchronized (CACHE) {
+      Bitmap bitmap = CACHE.get(key);
+      if (bitmap == null) {
+        bitmap = render(cling, colour, width, height);
+        CACHE.put(key, bitmap);
+      }
+      return bitmap;
+    }
+  }
+
+  private static Bitmap render(Drawable cling, int colour, int width, int height) {
+    Bitmap bitmap = Bitmap.createBitmap(Math.max(width, 1), Math.max(height, 1), Bitmap.Config.ARGB_8888);
+    Drawable drawable = cling.getConstantState().newDrawable().mutate();
+    drawable.setColorFilter(colour, PorterDuff.Mode.MULTIPLY);
+    drawable.setBounds(0, 0, width, height);
+    drawable.draw(new Canvas(bitmap));
+    return bitmap;
+  }
+
+  private static class Key {
+
+    private final int colour;
+    private final int densityDpi;
+    private final int width;
+    private final int height;
+
+    Key(int colour, int densityDpi, int width, int height) {
+      this.colour = colour;
+      this.densityDpi = densityDpi;
+      this.width = width;
+      this.height = height;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return colour == key.colour && densityDpi == key.densityDpi &&
+          width == key.width && height == key.height;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = colour;
+      result = 31 * result + densityDpi;
+      result = 31 * result + width;
+      result = 31 * result + height;
+      return result;
+    }
+  }
+}
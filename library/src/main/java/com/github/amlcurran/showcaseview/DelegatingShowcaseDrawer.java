@@ -0,0 +1,211 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.annotation.TargetApi;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffXfermode;
+import android.graphics.Rect;
+import android.os.Build;
+import android.view.View;
+
+/**
+ * Base class for drawers which change how the background is rendered, but leave the look of the
+ * showcase itself to a {@link StandardShowcaseDrawer} or {@link NewShowcaseDrawer}. The showcase
+ * decoration is drawn onto the view's canvas, so it keeps its colour whatever the buffer holds.
+ */
+abstract class DelegatingShowcaseDrawer implements ShowcaseDrawer {
+
+  protected final StandardShowcaseDrawer styleDrawer;
+
+  // Every showcase drawn since the last erase, as ShowcaseViews can highlight several targets
+  protected int holeCount;
+  private float[] holeX = new float[1];
+  private float[] holeY = new float[1];
+  private float[] holeRadius = new float[1];
+
+  private final Path backgroundPath = new Path();
+  private final Path holesPath = new Path();
+  private final Rect clipBounds = new Rect();
+  private final Paint clearPaint;
+
+  DelegatingShowcaseDrawer(StandardShowcaseDrawer styleDrawer) {
+    this.styleDrawer = styleDrawer;
+    clearPaint = new Paint();
+    clearPaint.setAntiAlias(true);
+    clearPaint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.CLEAR));
+  }
+
+  @Override
+  public void setShowcaseColour(int color) {
+    styleDrawer.setShowcaseColour(color);
+  }
+
+  @Override
+  public void setOuterRadius(int pxRadius) {
+    styleDrawer.setOuterRadius(pxRadius);
+  }
+
+  @Override
+  public void drawShowcase(Bitmap buffer, float x, float y, float scaleMultiplier, float radius) {
+    if (holeCount == holeX.length) {
+      holeX = grow(holeX);
+      holeY = grow(holeY);
+      holeRadius = grow(holeRadius);
+    }
+    holeX[holeCount] = x;
+    holeY[holeCount] = y;
+    holeRadius[holeCount] = radius;
+    holeCount++;
+  }
+
+  static float[] grow(float[] array) {
+    float[] grown = new float[array.length * 2];
+    System.arraycopy(array, 0, grown, 0, array.length);
+    return grown;
+  }
+
+  @Override
+  public int getShowcaseWidth(float radius) {
+    return styleDrawer.getShowcaseWidth(radius);
+  }
+
+  @Override
+  public int getShowcaseHeight(float radius) {
+    return styleDrawer.getShowcaseHeight(radius);
+  }
+
+  @Override
+  public void setBackgroundColour(int backgroundColor) {
+    styleDrawer.setBackgroundColour(backgroundColor);
+  }
+
+  @Override
+  public int getBufferSampleSize() {
+    return 1;
+  }
+
+  @Override
+  public void erase(Bitmap bitmapBuffer, Rect area) {
+    holeCount = 0;
+  }
+
+  @Override
+  public int getEdgeWidth(float radius) {
+    return styleDrawer.getEdgeWidth(radius);
+  }
+
+  @Override
+  public void prepare(View showcaseView) {
+  }
+
+  @Override
+  public void release() {
+  }
+
+  protected int getBackgroundColour() {
+    return styleDrawer.backgroundColour;
+  }
+
+  protected float getHoleX(int hole) {
+    return holeX[hole];
+  }
+
+  protected float getHoleY(int hole) {
+    return holeY[hole];
+  }
+
+  protected float getShowcaseRadius(int hole) {
+    return holeRadius[hole];
+  }
+
+  /**
+   * The radius of the area cut out of the background for the given showcase
+   */
+  protected float getHoleRadius(int hole) {
+    return styleDrawer.getHoleRadius(holeRadius[hole]);
+  }
+
+  /**
+   * Fill the canvas's clip with the paint, leaving every hole from firstHole onwards transparent.
+   * An even-odd path would fill the area where two holes overlap back in, so overlapping holes are
+   * merged before being cut out, or erased from a layer where Path.op() isn't available.
+   */
+  protected void drawAroundHoles(Canvas canvas, Paint paint, int firstHole) {
+    canvas.getClipBounds(clipBounds);
+    backgroundPath.rewind();
+    backgroundPath.addRect(clipBounds.left, clipBounds.top, clipBounds.right, clipBounds.bottom,
+        Path.Direction.CW);
+    if (!holesOverlap(firstHole)) {
+      // rewind() also resets the fill type
+      backgroundPath.setFillType(Path.FillType.EVEN_ODD);
+      for (int i = firstHole; i < holeCount; i++) {
+        backgroundPath.addCircle(holeX[i], holeY[i], getHoleRadius(i), Path.Direction.CW);
+      }
+      canvas.drawPath(backgroundPath, paint);
+    } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+      cutOutHoles(firstHole);
+      canvas.drawPath(backgroundPath, paint);
+    } else {
+      int saveCount = canvas.saveLayer(clipBounds.left, clipBounds.top, clipBounds.right,
+          clipBounds.bottom, null, Canvas.ALL_SAVE_FLAG);
+      canvas.drawPaint(paint);
+      for (int i = firstHole; i < holeCount; i++) {
+        canvas.drawCircle(holeX[i], holeY[i], getHoleRadius(i), clearPaint);
+      }
+      canvas.restoreToCount(saveCount);
+    }
+  }
+
+  private boolean holesOverlap(int firstHole) {
+    for (int i = firstHole; i < holeCount; i++) {
+      for (int j = i + 1; j < holeCount; j++) {
+        float dx = holeX[i] - holeX[j];
+        float dy = holeY[i] - holeY[j];
+        float reach = getHoleRadius(i) + getHoleRadius(j);
+        if (dx * dx + dy * dy < reach * reach) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @TargetApi(Build.VERSION_CODES.KITKAT)
+  private void cutOutHoles(int firstHole) {
+    holesPath.rewind();
+    for (int i = firstHole; i < holeCount; i++) {
+      holesPath.addCircle(holeX[i], holeY[i], getHoleRadius(i), Path.Direction.CW);
+    }
+    // The circles are all clockwise, so the winding fill already covers their union
+    backgroundPath.op(holesPath, Path.Op.DIFFERENCE);
+  }
+
+  protected void drawHighlight(Canvas canvas, int hole) {
+    styleDrawer.drawHighlight(canvas, holeX[hole], holeY[hole], holeRadius[hole]);
+  }
+
+  protected void drawHighlights(Canvas canvas) {
+    for (int i = 0; i < holeCount; i++) {
+      drawHighlight(canvas, i);
+    }
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+/**
+ * Draws the background and the showcase straight onto the view's canvas, cutting the showcased
+ * area out of the fill instead of erasing it from a full-screen offscreen bitmap
+ */
+class DirectShowcaseDrawer extends DelegatingShowcaseDrawer {
+
+  private final Paint backgroundPaint;
+
+  public DirectShowcaseDrawer(StandardShowcaseDrawer styleDrawer) {
+    super(styleDrawer);
+    backgroundPaint = new Paint();
+    backgroundPaint.setAntiAlias(true);
+    backgroundPaint.setColor(getBackgroundColour());
+  }
+
+  @Override
+  public void setBackgroundColour(int backgroundColor) {
+    super.setBackgroundColour(backgroundColor);
+    backgroundPaint.setColor(backgroundColor);
+  }
+
+  @Override
+  public Bitmap.Config getBufferConfig() {
+    return null;
+  }
+
+  @Override
+  public void drawToCanvas(Canvas canvas, Bitmap bitmapBuffer) {
+    drawAroundHoles(canvas, backgroundPaint, 0);
+    drawHighlights(canvas);
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache, shared by all {@link StampShowcaseDrawer}s, of prerendered showcase "stamps": an alpha
+ * mask of the hole, which is cut out of the background, and the highlight which goes on top.
+ * Stamps are only worth rendering for a radius which is drawn again and again, so callers are
+ * expected to draw directly while the radius is still changing. The least recently used stamps
+ * are dropped once the cache holds more than a fixed number of bytes.
+ */
+class HoleStampCache {
+
+  private static final long MAX_BYTES = 8 * 1024 * 1024;
+
+  private static final Map<Key, Stamp> CACHE = new LinkedHashMap<Key, Stamp>(16, 0.75f, true);
+  // Reused for lookups, so a cache hit doesn't allocate
+  private static final Key LOOKUP_KEY = new Key();
+  private static long bytesHeld;
+
+  /**
+   * Get the stamp for a showcase of the given radius, or null if it hasn't been rendered
+   */
+  static Stamp peek(StandardShowcaseDrawer styleDrawer, float radius) {
+    synchronized (CACHE) {
+      LOOKUP_KEY.set(styleDrawer, radius);
+      return CACHE.get(LOOKUP_KEY);
+    }
+  }
+
+  /**
+   * Get the stamp for a showcase of the given radius, rendering it if needed
+   */
+  static Stamp get(StandardShowcaseDrawer styleDrawer, float radius) {
+    synchronized (CACHE) {
+      LOOKUP_KEY.set(styleDrawer, radius);
+      Stamp stamp = CACHE.get(LOOKUP_KEY);
+      if (stamp == null) {
+        stamp = new Stamp(styleDrawer, radius);
+        Key key = new Key();
+        key.set(styleDrawer, radius);
+        CACHE.put(key, stamp);
+        bytesHeld += stamp.sizeOf();
+        trim();
+      }
+      return stamp;
+    }
+  }
+
+  private static void trim() {
+    Iterator<Stamp> iterator = CACHE.values().iterator();
+    // Always keep the stamp which was just added
+    while (bytesHeld > MAX_BYTES && CACHE.size() > 1) {
+      // Evicted stamps may still be in use by a drawer, so they're left to the GC
+      bytesHeld -= iterator.next().sizeOf();
+      iterator.remove();
+    }
+  }
+
+  private static long sizeOf(Bitmap bitmap) {
+    return (long) bitmap.getRowBytes() * bitmap.getHeight();
+  }
+
+  /**
+   * The two bitmaps for one showcase, both meant to be drawn centred on the showcase
+   */
+  static class Stamp {
+
+    // Opaque where the hole is, and transparent elsewhere
+    final Bitmap hole;
+    // The cling or ring, on a transparent background
+    final Bitmap highlight;
+
+    Stamp(StandardShowcaseDrawer styleDrawer, float radius) {
+      float holeRadius = styleDrawer.getHoleRadius(radius);
+      int holeSize = 2 * (int) Math.ceil(holeRadius) + 2;
+      hole = Bitmap.createBitmap(holeSize, holeSize, Bitmap.Config.ALPHA_8);
+      Paint holePaint = new Paint();
+      holePaint.setAntiAlias(true);
+      new Canvas(hole).drawCircle(holeSize / 2f, holeSize / 2f, holeRadius, holePaint);
+
+      int width = styleDrawer.getShowcaseWidth(radius);
+      int height = styleDrawer.getShowcaseHeight(radius);
+      highlight = Bitmap.createBitmap(Math.max(width, 1), Math.max(height, 1), Bitmap.Config.ARGB_8888);
+      styleDrawer.drawHighlight(new Canvas(highlight), width / 2f, height / 2f, radius);
+    }
+
+    private long sizeOf() {
+      return HoleStampCache.sizeOf(hole) + HoleStampCache.sizeOf(highlight);
+    }
+  }
+
+  /**
+   * Everything which changes how a stamp looks
+   */
+  private static class Key {
+
+    private Class<?> style;
+    private float radius;
+    private float holeRadius;
+    private int showcaseWidth;
+    private int showcaseColour;
+
+    void set(StandardShowcaseDrawer styleDrawer, float radius) {
+      this.style = styleDrawer.getClass();
+      this.radius = radius;
+      this.holeRadius = styleDrawer.getHoleRadius(radius);
+      this.showcaseWidth = styleDrawer.getShowcaseWidth(radius);
+      this.showcaseColour = styleDrawer.getShowcaseColour();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return style == key.style && radius == key.radius && holeRadius == key.holeRadius &&
+          showcaseWidth == key.showcaseWidth && showcaseColour == key.showcaseColour;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = style.hashCode();
+      result = 31 * result + Float.floatToIntBits(radius);
+      result = 31 * result + Float.floatToIntBits(holeRadius);
+      result = 31 * result + showcaseWidth;
+      result = 31 * result + showcaseColour;
+      return result;
+    }
+  }
+}
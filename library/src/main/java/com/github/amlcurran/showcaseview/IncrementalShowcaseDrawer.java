@@ -0,0 +1,99 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffXfermode;
+import android.graphics.Rect;
+
+/**
+ * Draws into a full-screen buffer like the standard drawers, but remembers where it painted the
+ * showcase and, when erasing, only restores that area to the background colour. Everything else
+ * in the buffer is still the background from the previous frame, so the work done per frame
+ * depends on the size of the showcase rather than the size of the screen.
+ */
+class IncrementalShowcaseDrawer extends DelegatingShowcaseDrawer {
+
+  // Extra space restored around the showcase, to cover anti-aliased edges
+  private static final int PADDING = 2;
+
+  private final Paint holePaint;
+  private final BufferCanvas bufferCanvas = new BufferCanvas();
+  private final Rect paintedBounds = new Rect();
+
+  // The buffer, and the colour it was last completely erased to
+  private Bitmap erasedBuffer;
+  private int erasedColour;
+
+  public IncrementalShowcaseDrawer(StandardShowcaseDrawer styleDrawer) {
+    super(styleDrawer);
+    holePaint = new Paint();
+    holePaint.setAntiAlias(true);
+    holePaint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.CLEAR));
+  }
+
+  @Override
+  public Bitmap.Config getBufferConfig() {
+    return Bitmap.Config.ARGB_8888;
+  }
+
+  @Override
+  public void erase(Bitmap bitmapBuffer, Rect area) {
+    // The area is ignored, as this drawer already keeps track of what it needs to restore
+    super.erase(bitmapBuffer, area);
+    if (bitmapBuffer != erasedBuffer || getBackgroundColour() != erasedColour) {
+      bitmapBuffer.eraseColor(getBackgroundColour());
+      erasedBuffer = bitmapBuffer;
+      erasedColour = getBackgroundColour();
+    } else if (!paintedBounds.isEmpty()) {
+      Canvas canvas = bufferCanvas.get(bitmapBuffer);
+      canvas.save();
+      canvas.clipRect(paintedBounds);
+      canvas.drawColor(erasedColour, PorterDuff.Mode.SRC);
+      canvas.restore();
+    }
+    paintedBounds.setEmpty();
+  }
+
+  @Override
+  public void drawShowcase(Bitmap buffer, float x, float y, float scaleMultiplier, float radius) {
+    super.drawShowcase(buffer, x, y, scaleMultiplier, radius);
+    int hole = holeCount - 1;
+    Canvas canvas = bufferCanvas.get(buffer);
+    canvas.drawCircle(x, y, getHoleRadius(hole), holePaint);
+    drawHighlight(canvas, hole);
+
+    int holeRadius = (int) Math.ceil(getHoleRadius(hole));
+    int halfWidth = Math.max(getShowcaseWidth(radius) / 2, holeRadius) + PADDING;
+    int halfHeight = Math.max(getShowcaseHeight(radius) / 2, holeRadius) + PADDING;
+    paintedBounds.union((int) x - halfWidth, (int) y - halfHeight, (int) x + halfWidth, (int) y + halfHeight);
+  }
+
+  @Override
+  public void drawToCanvas(Canvas canvas, Bitmap bitmapBuffer) {
+    canvas.drawBitmap(bitmapBuffer, 0, 0, null);
+  }
+
+  @Override
+  public void release() {
+    // The buffer may be handed to another view, so its contents can't be trusted any more
+    erasedBuffer = null;
+  }
+}
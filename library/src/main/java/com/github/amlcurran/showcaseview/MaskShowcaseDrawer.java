@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffXfermode;
+import android.graphics.Rect;
+
+/**
+ * Keeps only an alpha mask of the background in its buffer, a quarter of the size of a full
+ * colour one, and tints it with the background colour when drawing it to the screen
+ */
+class MaskShowcaseDrawer extends DelegatingShowcaseDrawer {
+
+  private final Paint holePaint;
+  private final Paint tintPaint;
+  private final BufferCanvas bufferCanvas = new BufferCanvas();
+
+  public MaskShowcaseDrawer(StandardShowcaseDrawer styleDrawer) {
+    super(styleDrawer);
+    holePaint = new Paint();
+    holePaint.setAntiAlias(true);
+    holePaint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.CLEAR));
+    tintPaint = new Paint();
+    tintPaint.setColor(opaque(getBackgroundColour()));
+  }
+
+  @Override
+  public void setBackgroundColour(int backgroundColor) {
+    super.setBackgroundColour(backgroundColor);
+    tintPaint.setColor(opaque(backgroundColor));
+  }
+
+  @Override
+  public Bitmap.Config getBufferConfig() {
+    return Bitmap.Config.ALPHA_8;
+  }
+
+  @Override
+  public void erase(Bitmap bitmapBuffer, Rect area) {
+    super.erase(bitmapBuffer, area);
+    int background = Color.argb(Color.alpha(getBackgroundColour()), 0, 0, 0);
+    if (area == null) {
+      bufferCanvas.setClip(bitmapBuffer, null, 1);
+      bitmapBuffer.eraseColor(background);
+    } else {
+      bufferCanvas.setClip(bitmapBuffer, area, 1).drawColor(background, PorterDuff.Mode.SRC);
+    }
+  }
+
+  @Override
+  public void drawShowcase(Bitmap buffer, float x, float y, float scaleMultiplier, float radius) {
+    super.drawShowcase(buffer, x, y, scaleMultiplier, radius);
+    bufferCanvas.get(buffer).drawCircle(x, y, getHoleRadius(holeCount - 1), holePaint);
+  }
+
+  @Override
+  public void drawToCanvas(Canvas canvas, Bitmap bitmapBuffer) {
+    // Alpha-only bitmaps are drawn in the paint's colour
+    canvas.drawBitmap(bitmapBuffer, 0, 0, tintPaint);
+    drawHighlights(canvas);
+  }
+
+  private static int opaque(int colour) {
+    return colour | 0xFF000000;
+  }
+}
@@ -17,7 +17,6 @@
 package com.github.amlcurran.showcaseview;
 
 import android.content.res.Resources;
-import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Paint.Style;
@@ -27,12 +26,14 @@ import android.graphics.Paint.Style;
  */
 class NewShowcaseDrawer extends StandardShowcaseDrawer {
 
+  private final float defaultOuterRadiusSpace;
   private float outerRadiusSpace;
   private final Paint showcasePaint;
 
   public NewShowcaseDrawer(Resources resources) {
     super(resources);
-    outerRadiusSpace = resources.getDimension(R.dimen.showcase_radius_outer);
+    defaultOuterRadiusSpace = resources.getDimension(R.dimen.showcase_radius_outer);
+    outerRadiusSpace = defaultOuterRadiusSpace;
     showcasePaint = new Paint();
     showcasePaint.setAntiAlias(true);
     showcasePaint.setStyle(Style.STROKE);
@@ -41,6 +42,7 @@ class NewShowcaseDrawer extends StandardShowcaseDrawer {
 
   @Override
   public void setShowcaseColour(int color) {
+    super.setShowcaseColour(color);
     showcasePaint.setColor(color);
   }
 
@@ -51,10 +53,19 @@ class NewShowcaseDrawer extends StandardShowcaseDrawer {
   }
 
   @Override
-  public void drawShowcase(Bitmap buffer, float x, float y, float scaleMultiplier, float radius) {
-    Canvas bufferCanvas = new Canvas(buffer);
-    bufferCanvas.drawCircle(x, y, radius + outerRadiusSpace / 2, eraserPaint);
-    bufferCanvas.drawCircle(x, y, radius, showcasePaint);
+  void resetOuterRadius() {
+    outerRadiusSpace = defaultOuterRadiusSpace;
+    showcasePaint.setStrokeWidth(outerRadiusSpace);
+  }
+
+  @Override
+  float getHoleRadius(float radius) {
+    return radius + outerRadiusSpace / 2;
+  }
+
+  @Override
+  void drawHighlight(Canvas canvas, float x, float y, float radius) {
+    canvas.drawCircle(x, y, radius, showcasePaint);
   }
 
   @Override
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffXfermode;
+import android.graphics.Rect;
+
+/**
+ * Only renders the area around the showcase offscreen, into a patch the size of the showcase,
+ * and fills the rest of the background with four plain rectangles around it. Memory use then
+ * depends on the size of the showcase rather than the size of the screen.
+ */
+class PatchShowcaseDrawer extends DelegatingShowcaseDrawer {
+
+  private final Paint holePaint;
+  private final Paint backgroundPaint;
+  private final BufferCanvas bufferCanvas = new BufferCanvas();
+  private final Rect patchBounds = new Rect();
+  private final Rect patchSource = new Rect();
+  private final Rect clipBounds = new Rect();
+  private Bitmap patch;
+  private boolean isPatchDirty;
+
+  public PatchShowcaseDrawer(StandardShowcaseDrawer styleDrawer) {
+    super(styleDrawer);
+    holePaint = new Paint();
+    holePaint.setAntiAlias(true);
+    holePaint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.CLEAR));
+    backgroundPaint = new Paint();
+    backgroundPaint.setColor(getBackgroundColour());
+  }
+
+  @Override
+  public void setBackgroundColour(int backgroundColor) {
+    super.setBackgroundColour(backgroundColor);
+    backgroundPaint.setColor(backgroundColor);
+  }
+
+  @Override
+  public Bitmap.Config getBufferConfig() {
+    // The patch is managed here, rather than by the view
+    return null;
+  }
+
+  @Override
+  public void drawShowcase(Bitmap buffer, float x, float y, float scaleMultiplier, float radius) {
+    super.drawShowcase(buffer, x, y, scaleMultiplier, radius);
+    isPatchDirty = true;
+  }
+
+  /**
+   * Render every showcase into a patch covering all of them
+   */
+  private void renderPatch() {
+    patchBounds.setEmpty();
+    for (int i = 0; i < holeCount; i++) {
+      int holeSize = 2 * (int) Math.ceil(getHoleRadius(i)) + 2;
+      int halfWidth = Math.max(getShowcaseWidth(getShowcaseRadius(i)), holeSize) / 2;
+      int halfHeight = Math.max(getShowcaseHeight(getShowcaseRadius(i)), holeSize) / 2;
+      int x = (int) getHoleX(i);
+      int y = (int) getHoleY(i);
+      patchBounds.union(x - halfWidth, y - halfHeight, x + halfWidth, y + halfHeight);
+    }
+    patchSource.set(0, 0, patchBounds.width(), patchBounds.height());
+
+    if (!BitmapPool.isReusable(patch, patchBounds.width(), patchBounds.height(), Bitmap.Config.ARGB_8888)) {
+      BitmapPool bitmapPool = BitmapPool.getInstance();
+      bitmapPool.release(patch);
+      patch = bitmapPool.acquire(patchBounds.width(), patchBounds.height(), Bitmap.Config.ARGB_8888);
+    }
+    patch.eraseColor(getBackgroundColour());
+
+    Canvas canvas = bufferCanvas.get(patch);
+    canvas.save();
+    canvas.translate(-patchBounds.left, -patchBounds.top);
+    for (int i = 0; i < holeCount; i++) {
+      canvas.drawCircle(getHoleX(i), getHoleY(i), getHoleRadius(i), holePaint);
+    }
+    drawHighlights(canvas);
+    canvas.restore();
+    isPatchDirty = false;
+  }
+
+  @Override
+  public void drawToCanvas(Canvas canvas, Bitmap bitmapBuffer) {
+    if (holeCount == 0) {
+      canvas.drawColor(getBackgroundColour());
+      return;
+    }
+    if (isPatchDirty || patch == null) {
+      renderPatch();
+    }
+    canvas.getClipBounds(clipBounds);
+    int top = Math.max(patchBounds.top, clipBounds.top);
+    int bottom = Math.min(patchBounds.bottom, clipBounds.bottom);
+    fillRect(canvas, clipBounds.left, clipBounds.top, clipBounds.right, top);
+    fillRect(canvas, clipBounds.left, bottom, clipBounds.right, clipBounds.bottom);
+    fillRect(canvas, clipBounds.left, top, patchBounds.left, bottom);
+    fillRect(canvas, patchBounds.right, top, clipBounds.right, bottom);
+    canvas.drawBitmap(patch, patchSource, patchBounds, null);
+  }
+
+  private void fillRect(Canvas canvas, int left, int top, int right, int bottom) {
+    if (left < right && top < bottom) {
+      canvas.drawRect(left, top, right, bottom, backgroundPaint);
+    }
+  }
+
+  @Override
+  public void release() {
+    BitmapPool.getInstance().release(patch);
+    patch = null;
+  }
+}
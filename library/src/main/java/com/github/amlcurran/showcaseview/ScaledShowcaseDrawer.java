@@ -0,0 +1,102 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffXfermode;
+import android.graphics.Rect;
+
+/**
+ * Renders the background into a buffer which is smaller than the view by a whole factor, and
+ * scales it back up with bilinear filtering as it is drawn. As the background is a flat colour
+ * with a soft-edged hole, the difference is hard to see. The showcase decoration can either be
+ * rendered into the small buffer too, or drawn at full resolution on top.
+ */
+class ScaledShowcaseDrawer extends DelegatingShowcaseDrawer {
+
+  private final int sampleSize;
+  private final boolean sharpHighlight;
+  private final Paint holePaint;
+  private final Paint scalePaint;
+  private final BufferCanvas bufferCanvas = new BufferCanvas();
+
+  public ScaledShowcaseDrawer(StandardShowcaseDrawer styleDrawer, int sampleSize, boolean sharpHighlight) {
+    super(styleDrawer);
+    this.sampleSize = sampleSize;
+    this.sharpHighlight = sharpHighlight;
+    holePaint = new Paint();
+    holePaint.setAntiAlias(true);
+    holePaint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.CLEAR));
+    scalePaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+  }
+
+  @Override
+  public Bitmap.Config getBufferConfig() {
+    return Bitmap.Config.ARGB_8888;
+  }
+
+  @Override
+  public int getBufferSampleSize() {
+    return sampleSize;
+  }
+
+  @Override
+  public void erase(Bitmap bitmapBuffer, Rect area) {
+    super.erase(bitmapBuffer, area);
+    if (area == null) {
+      bufferCanvas.setClip(bitmapBuffer, null, sampleSize);
+      bitmapBuffer.eraseColor(getBackgroundColour());
+    } else {
+      bufferCanvas.setClip(bitmapBuffer, area, sampleSize)
+          .drawColor(getBackgroundColour(), PorterDuff.Mode.SRC);
+    }
+  }
+
+  @Override
+  public int getEdgeWidth(float radius) {
+    // Filtering blends each pixel of the buffer into its neighbours as it is scaled up, and the
+    // hole's anti-aliasing is a whole pixel of the buffer wide
+    return 2 * sampleSize + super.getEdgeWidth(radius);
+  }
+
+  @Override
+  public void drawShowcase(Bitmap buffer, float x, float y, float scaleMultiplier, float radius) {
+    super.drawShowcase(buffer, x, y, scaleMultiplier, radius);
+    Canvas canvas = bufferCanvas.get(buffer);
+    canvas.save();
+    canvas.scale(1f / sampleSize, 1f / sampleSize);
+    canvas.drawCircle(x, y, getHoleRadius(holeCount - 1), holePaint);
+    if (!sharpHighlight) {
+      drawHighlight(canvas, holeCount - 1);
+    }
+    canvas.restore();
+  }
+
+  @Override
+  public void drawToCanvas(Canvas canvas, Bitmap bitmapBuffer) {
+    canvas.save();
+    canvas.scale(sampleSize, sampleSize);
+    canvas.drawBitmap(bitmapBuffer, 0, 0, scalePaint);
+    canvas.restore();
+    if (sharpHighlight) {
+      drawHighlights(canvas);
+    }
+  }
+}
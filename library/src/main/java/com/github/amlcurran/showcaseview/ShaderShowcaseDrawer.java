@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.RadialGradient;
+import android.graphics.Shader;
+
+/**
+ * Draws the whole background as a single fill with a radial gradient, which is transparent inside
+ * the showcase and the background colour outside it. Moving or resizing the showcase only changes
+ * the gradient's matrix, so no offscreen buffer is needed at all.
+ */
+class ShaderShowcaseDrawer extends DelegatingShowcaseDrawer {
+
+  // How far past the edge of the showcase the background fades in, as a fraction of its radius
+  private static final float SOFT_EDGE = 0.2f;
+  private static final float HARD_EDGE = 0.01f;
+
+  private final Paint backgroundPaint;
+  private final Matrix shaderMatrix = new Matrix();
+  private final float edge;
+  private Shader shader;
+
+  public ShaderShowcaseDrawer(StandardShowcaseDrawer styleDrawer, boolean softEdge) {
+    super(styleDrawer);
+    edge = softEdge ? SOFT_EDGE : HARD_EDGE;
+    backgroundPaint = new Paint();
+    backgroundPaint.setAntiAlias(true);
+    updateShader(getBackgroundColour());
+  }
+
+  /**
+   * The gradient describes a unit circle around the origin, which the shader's matrix moves and
+   * scales onto the showcase
+   */
+  private void updateShader(int backgroundColor) {
+    int transparent = backgroundColor & 0x00FFFFFF;
+    shader = new RadialGradient(0, 0, 1 + edge,
+        new int[]{transparent, transparent, backgroundColor},
+        new float[]{0, 1 / (1 + edge), 1},
+        Shader.TileMode.CLAMP);
+    backgroundPaint.setShader(shader);
+  }
+
+  @Override
+  public void setBackgroundColour(int backgroundColor) {
+    super.setBackgroundColour(backgroundColor);
+    updateShader(backgroundColor);
+  }
+
+  @Override
+  public int getEdgeWidth(float radius) {
+    // The gradient fades in over this fraction of the hole's radius, outside the hole itself
+    return (int) Math.ceil(styleDrawer.getHoleRadius(radius) * edge) + super.getEdgeWidth(radius);
+  }
+
+  @Override
+  public Bitmap.Config getBufferConfig() {
+    return null;
+  }
+
+  @Override
+  public void drawToCanvas(Canvas canvas, Bitmap bitmapBuffer) {
+    if (holeCount == 0) {
+      canvas.drawColor(getBackgroundColour());
+      return;
+    }
+    // A zero scale would make the matrix singular, and nothing would be drawn
+    float holeRadius = Math.max(getHoleRadius(0), 1f);
+    shaderMatrix.setScale(holeRadius, holeRadius);
+    shaderMatrix.postTranslate(getHoleX(0), getHoleY(0));
+    shader.setLocalMatrix(shaderMatrix);
+
+    // The gradient only has one hole, so any others are cut out of the fill. clipPath() can't be
+    // used, as hardware-accelerated canvases only support it from API 18
+    if (holeCount > 1) {
+      drawAroundHoles(canvas, backgroundPaint, 1);
+    } else {
+      canvas.drawPaint(backgroundPaint);
+    }
+    drawHighlights(canvas);
+  }
+}
@@ -52,4 +52,8 @@ class ShotStateStore {
   void setSingleShot(long shotId) {
     this.shotId = shotId;
   }
+
+  void clearSingleShot() {
+    shotId = INVALID_SHOT_ID;
+  }
 }
\ No newline at end of file
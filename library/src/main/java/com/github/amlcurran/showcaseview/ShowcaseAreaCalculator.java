@@ -17,7 +17,6 @@
 package com.github.amlcurran.showcaseview;
 
 import android.graphics.Rect;
-import android.util.Log;
 
 /**
  * Class responsible for calculating where the Showcase should position itself
@@ -38,12 +37,11 @@ class ShowcaseAreaCalculator {
     int dw = showcaseDrawer.getShowcaseWidth(radius);
     int dh = showcaseDrawer.getShowcaseHeight(radius);
 
-    if (mShowcaseRect.left == cx - dw / 2 && mShowcaseRect.top == cy - dh / 2) {
+    if (mShowcaseRect.left == cx - dw / 2 && mShowcaseRect.top == cy - dh / 2 &&
+        mShowcaseRect.right == cx + dw / 2 && mShowcaseRect.bottom == cy + dh / 2) {
       return false;
     }
 
-    Log.d("ShowcaseView", "Recalculated");
-
     mShowcaseRect.left = cx - dw / 2;
     mShowcaseRect.top = cy - dh / 2;
     mShowcaseRect.right = cx + dw / 2;
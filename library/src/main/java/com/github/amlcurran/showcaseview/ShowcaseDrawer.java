@@ -18,6 +18,8 @@ package com.github.amlcurran.showcaseview;
 
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.view.View;
 
 /**
  * Created by curraa01 on 13/10/2013.
@@ -36,7 +38,43 @@ interface ShowcaseDrawer {
 
   void setBackgroundColour(int backgroundColor);
 
-  void erase(Bitmap bitmapBuffer);
+  /**
+   * @return the config of the offscreen buffer this drawer renders into, or null if it draws
+   * straight onto the canvas passed to {@link #drawToCanvas(Canvas, Bitmap)}, in which case the
+   * buffer passed to the other methods will be null
+   */
+  Bitmap.Config getBufferConfig();
+
+  /**
+   * @return how many times smaller than the view, in each dimension, the offscreen buffer is
+   */
+  int getBufferSampleSize();
+
+  /**
+   * Reset the buffer to the background, ready for the showcases to be drawn into it
+   *
+   * @param area the part of the view to reset, or null for all of it. Until the next erase,
+   *             showcases are only drawn inside this area, and the rest of the buffer keeps what
+   *             was drawn before.
+   */
+  void erase(Bitmap bitmapBuffer, Rect area);
+
+  /**
+   * @return how far, in pixels of the view, what this drawer draws for a showcase of the given
+   * radius can spread beyond its hole and decoration, e.g. through anti-aliasing or scaling
+   */
+  int getEdgeWidth(float radius);
+
+  /**
+   * Called when the showcase is shown and after the window is laid out, outside of drawing, so
+   * that a drawer can get slow work done ahead of time
+   */
+  void prepare(View showcaseView);
+
+  /**
+   * Give back any buffers the drawer allocated itself, as the showcase is no longer being drawn
+   */
+  void release();
 
   void drawToCanvas(Canvas canvas, Bitmap bitmapBuffer);
 }
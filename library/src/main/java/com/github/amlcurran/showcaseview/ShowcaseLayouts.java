@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.amlcurran.showcaseview;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.Window;
+import android.widget.Button;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The layouts a {@link ShowcaseView} inflates for its buttons and text, along with a small pool
+ * of them which have been inflated ahead of time by {@link ShowcaseView#prewarm(Activity)}.
+ * The pool is kept as a tag on the Activity's decor view, so layouts are only handed out to the
+ * Activity they were inflated with, and go away along with it. Only use this from the main thread.
+ */
+class ShowcaseLayouts {
+
+  private static final int MAX_POOLED_PER_ACTIVITY = 2;
+
+  final Button skipButton;
+  final View textContainer;
+  final View navigationButtonsContainer;
+
+  private ShowcaseLayouts(Context context) {
+    LayoutInflater inflater = LayoutInflater.from(context);
+    skipButton = (Button) inflater.inflate(R.layout.showcase_skip_button, null);
+    textContainer = inflater.inflate(R.layout.showcase_text, null);
+    navigationButtonsContainer = inflater.inflate(R.layout.showcase_navigation_buttons, null);
+  }
+
+  /**
+   * Take prewarmed layouts for the context if it is an Activity with some, otherwise inflate them
+   * now
+   */
+  static ShowcaseLayouts obtain(Context context) {
+    if (context instanceof Activity) {
+      Window window = ((Activity) context).getWindow();
+      List<ShowcaseLayouts> pool = window != null ? getPool(window.peekDecorView()) : null;
+      if (pool != null && !pool.isEmpty()) {
+        return pool.remove(pool.size() - 1);
+      }
+    }
+    return new ShowcaseLayouts(context);
+  }
+
+  /**
+   * Inflate a set of layouts for the Activity into its pool, unless it already holds enough
+   */
+  static void prewarm(Activity activity) {
+    if (activity.isFinishing() || activity.getWindow() == null) {
+      return;
+    }
+    View decorView = activity.getWindow().getDecorView();
+    List<ShowcaseLayouts> pool = getPool(decorView);
+    if (pool == null) {
+      pool = new ArrayList<ShowcaseLayouts>(MAX_POOLED_PER_ACTIVITY);
+      decorView.setTag(R.id.showcase_layouts_pool, pool);
+    }
+    if (pool.size() < MAX_POOLED_PER_ACTIVITY) {
+      pool.add(new ShowcaseLayouts(activity));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<ShowcaseLayouts> getPool(View decorView) {
+    return decorView != null ? (List<ShowcaseLayouts>) decorView.getTag(R.id.showcase_layouts_pool) : null;
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.amlcurran.showcaseview;
+
+import android.content.res.Configuration;
+import android.content.res.Resources;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The dimensions used to lay out {@link ShowcaseView}s and their targets, looked up once per
+ * {@link Resources} and configuration and shared between the views using them, rather than going
+ * through {@link Resources} each time they are needed. Only used from the main thread.
+ */
+public final class ShowcaseMetrics {
+
+  // Resources are kept weakly, so an Activity's metrics go with it
+  private static final Map<Resources, ShowcaseMetrics> CACHE = new WeakHashMap<Resources, ShowcaseMetrics>();
+
+  private final Configuration configuration;
+  private final int buttonMargin;
+  private final int showcaseMargin;
+  private final float textPadding;
+  private final float actionBarOffset;
+  private final int statusBarHeight;
+  private final int outerRadius;
+  private final float density;
+
+  private ShowcaseMetrics(Resources resources) {
+    configuration = new Configuration(resources.getConfiguration());
+    buttonMargin = (int) resources.getDimension(R.dimen.button_margin);
+    showcaseMargin = (int) resources.getDimension(R.dimen.showcase_margin);
+    textPadding = resources.getDimension(R.dimen.text_padding);
+    actionBarOffset = resources.getDimension(R.dimen.action_bar_offset);
+    int statusBarId = resources.getIdentifier("status_bar_height", "dimen", "android");
+    statusBarHeight = statusBarId != 0 ? resources.getDimensionPixelSize(statusBarId) : 0;
+    outerRadius = (int) resources.getDimension(R.dimen.showcase_radius_outer);
+    density = resources.getDisplayMetrics().density;
+  }
+
+  public static ShowcaseMetrics get(Resources resources) {
+    ShowcaseMetrics metrics = CACHE.get(resources);
+    // Resources are updated in place when the configuration changes, so check it's still the same
+    if (metrics == null || metrics.configuration.diff(resources.getConfiguration()) != 0) {
+      metrics = new ShowcaseMetrics(resources);
+      CACHE.put(resources, metrics);
+    }
+    return metrics;
+  }
+
+  int getButtonMargin() {
+    return buttonMargin;
+  }
+
+  int getShowcaseMargin() {
+    return showcaseMargin;
+  }
+
+  float getTextPadding() {
+    return textPadding;
+  }
+
+  float getActionBarOffset() {
+    return actionBarOffset;
+  }
+
+  int getStatusBarHeight() {
+    return statusBarHeight;
+  }
+
+  /**
+   * @return the default distance between a target and the edge of its showcase, in pixels
+   */
+  public int getOuterRadius() {
+    return outerRadius;
+  }
+
+  public int dpToPixels(int dp) {
+    return (int) Math.ceil(dp * density);
+  }
+}
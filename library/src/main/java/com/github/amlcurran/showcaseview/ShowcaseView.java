@@ -24,6 +24,7 @@ import com.github.amlcurran.showcaseview.targets.Target;
 
 import android.app.Activity;
 import android.content.Context;
+import android.content.res.Configuration;
 import android.content.res.TypedArray;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
@@ -32,10 +33,11 @@ import android.graphics.Point;
 import android.graphics.PorterDuff;
 import android.graphics.Rect;
 import android.os.Build;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.text.TextUtils;
 import android.util.AttributeSet;
 import android.util.TypedValue;
-import android.view.LayoutInflater;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
@@ -45,6 +47,10 @@ import android.widget.ImageView;
 import android.widget.RelativeLayout;
 import android.widget.TextView;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * A view which allows you to showcase areas of your app with an explanation.
  */
@@ -53,6 +59,17 @@ public class ShowcaseView extends RelativeLayout
 
   private static final int HOLO_BLUE = Color.parseColor("#33B5E5");
 
+  // How many hidden ShowcaseViews each activity keeps for reuse, see Builder#recycleOnHide()
+  private static final int MAX_POOLED_PER_ACTIVITY = 2;
+
+  // Where the showcase is, which decides where the text goes. See recalculateText()
+  private static final int SHOWCASE_AT_TOP_EDGE = 0;
+  private static final int SHOWCASE_AT_BOTTOM_EDGE = 1;
+  private static final int SHOWCASE_IN_TOP_HALF = 2;
+  private static final int SHOWCASE_IN_BOTTOM_HALF = 3;
+  // Not a quadrant, but where text beside the showcase is placed, see placeTextAroundShowcase()
+  private static final int TEXT_BESIDE_SHOWCASE = 4;
+
   private final Button mNextButton;
   private final Button mSkipButton;
   private final Button mBackButton;
@@ -63,15 +80,39 @@ public class ShowcaseView extends RelativeLayout
   private final UpdateOnGlobalLayout mUpdateOnGlobalLayout;
   private ImageView mImageView;
 
-  private final ShowcaseDrawer showcaseDrawer;
+  private final StandardShowcaseDrawer styleDrawer;
+  private ShowcaseDrawer showcaseDrawer;
   private final AnimationFactory animationFactory;
   private final ShotStateStore shotStateStore;
+  private final ShowcaseAreaCalculator showcaseAreaCalculator;
+  private final ApiUtils apiUtils;
 
   // Showcase metrics
   private int showcaseX = -1;
   private int showcaseY = -1;
   private float showcaseRadius = 0;
   private float scaleMultiplier = 1f;
+  private final Rect showcaseBounds = new Rect();
+  private final Rect dirtyBounds = new Rect();
+  // The part of the buffer which needs redrawing, when only the showcase has changed since the
+  // buffer was last drawn. Only valid while partialDirtyVersion matches backgroundVersion.
+  private final Rect bufferDirtyBounds = new Rect();
+  private int partialDirtyVersion = -1;
+  private boolean hasShowcaseBounds = false;
+  private int textQuadrant = -1;
+  // The side of the showcase the text was put on, only when placeTextAroundShowcase is set
+  private int textRegion = -1;
+  private boolean placeTextAroundShowcase = false;
+  private TextPlacement textPlacement;
+  private TextRegionCalculator textRegionCalculator;
+  private final Rect textAvoidBounds = new Rect();
+  private final Rect imageBounds = new Rect();
+
+  // Geometry waiting to be applied on the next frame
+  private int pendingX = -1;
+  private int pendingY = -1;
+  private float pendingRadius = 0;
+  private boolean geometryUpdatePending = false;
 
   // Touch items
   private boolean hasCustomClickListener = false;
@@ -82,6 +123,17 @@ public class ShowcaseView extends RelativeLayout
 
   private boolean hasNoTarget = false;
   private Bitmap bitmapBuffer;
+  // Bumped whenever something which changes the background is changed, see dispatchDraw()
+  private int backgroundVersion = 0;
+  private int drawnBackgroundVersion = -1;
+  private boolean hasReleasedBackground = false;
+  // Between hide() and the end of the fade out, while the background is still drawn
+  private boolean isHiding = false;
+  // Set once the fade in has finished, as the content can't be frozen while it shows through
+  private boolean hasFadedIn = false;
+  private boolean recycleOnHide = false;
+  // Only set when the content behind the showcase should be frozen, see freezeBackground()
+  private BackgroundSnapshot frozenBackground;
 
   // Animation items
   private long fadeInMillis;
@@ -89,6 +141,12 @@ public class ShowcaseView extends RelativeLayout
   private boolean isShowing;
   private Target mTarget;
 
+  // Targets showcased alongside the main one, which don't move
+  private final List<Target> mExtraTargets = new ArrayList<Target>();
+  private int[] extraShowcaseX = new int[0];
+  private int[] extraShowcaseY = new int[0];
+  private float[] extraShowcaseRadius = new float[0];
+
   private boolean mAdjustTopMargin = false;
 
   protected ShowcaseView(Context context, boolean newStyle) {
@@ -98,9 +156,10 @@ public class ShowcaseView extends RelativeLayout
   protected ShowcaseView(Context context, AttributeSet attrs, int defStyle, boolean newStyle) {
     super(context, attrs, defStyle);
 
-    ApiUtils apiUtils = new ApiUtils();
+    apiUtils = new ApiUtils();
     animationFactory = new AnimatorAnimationFactory();
     shotStateStore = new ShotStateStore(context);
+    showcaseAreaCalculator = new ShowcaseAreaCalculator();
 
     apiUtils.setFitsSystemWindowsCompat(this);
     mUpdateOnGlobalLayout = new UpdateOnGlobalLayout();
@@ -115,11 +174,12 @@ public class ShowcaseView extends RelativeLayout
     fadeInMillis = getResources().getInteger(android.R.integer.config_mediumAnimTime);
     fadeOutMillis = getResources().getInteger(android.R.integer.config_mediumAnimTime);
 
-    mSkipButton = (Button) LayoutInflater.from(context).inflate(R.layout.showcase_skip_button, null);
-    mTextContainer = LayoutInflater.from(context).inflate(R.layout.showcase_text, null);
+    ShowcaseLayouts layouts = ShowcaseLayouts.obtain(context);
+    mSkipButton = layouts.skipButton;
+    mTextContainer = layouts.textContainer;
     mTitleTextView = (TextView) mTextContainer.findViewById(R.id.text_title);
     mDetailTextView = (TextView) mTextContainer.findViewById(R.id.text_detail);
-    mNavigationButtonsContainer = LayoutInflater.from(context).inflate(R.layout.showcase_navigation_buttons, null);
+    mNavigationButtonsContainer = layouts.navigationButtonsContainer;
     mNextButton = (Button) mNavigationButtonsContainer.findViewById(R.id.showcase_next_button);
     mBackButton = (Button) mNavigationButtonsContainer.findViewById(R.id.showcase_back_button);
     if (!hasCustomClickListener) {
@@ -127,27 +187,43 @@ public class ShowcaseView extends RelativeLayout
       mBackButton.setOnClickListener(backOnClickListener);
     }
     if (newStyle) {
-      showcaseDrawer = new NewShowcaseDrawer(getResources());
+      styleDrawer = new NewShowcaseDrawer(getResources());
     } else {
-      showcaseDrawer = new StandardShowcaseDrawer(getResources());
+      styleDrawer = new StandardShowcaseDrawer(getResources());
     }
+    showcaseDrawer = styleDrawer;
 
     updateStyle(styled, false);
 
     init();
   }
 
+  /**
+   * Inflate the layouts a ShowcaseView needs once the main thread is next idle, so that building
+   * a ShowcaseView for the same Activity later on doesn't have to. Call this from the main
+   * thread, for example in {@link Activity#onCreate(android.os.Bundle)}. The layouts are kept
+   * with the Activity's window, so they go away along with it.
+   */
+  public static void prewarm(Activity activity) {
+    final WeakReference<Activity> activityReference = new WeakReference<Activity>(activity);
+    Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+      @Override
+      public boolean queueIdle() {
+        Activity activity = activityReference.get();
+        if (activity != null) {
+          ShowcaseLayouts.prewarm(activity);
+        }
+        return false;
+      }
+    });
+  }
+
   private void init() {
 
     setOnTouchListener(this);
 
     if (mSkipButton.getParent() == null) {
-      int margin = (int) getResources().getDimension(R.dimen.button_margin);
-      RelativeLayout.LayoutParams lps = (LayoutParams) generateDefaultLayoutParams();
-      lps.addRule(RelativeLayout.ALIGN_PARENT_TOP);
-      lps.addRule(RelativeLayout.ALIGN_PARENT_RIGHT);
-      lps.setMargins(margin, margin + getStatusBarHeight(), margin, margin);
-      mSkipButton.setLayoutParams(lps);
+      mSkipButton.setLayoutParams(generateDefaultSkipButtonParams());
       mSkipButton.setText(R.string.skip);
       if (!hasCustomClickListener) {
         mSkipButton.setOnClickListener(skipOnClickListener);
@@ -166,9 +242,18 @@ public class ShowcaseView extends RelativeLayout
     }
   }
 
+  private LayoutParams generateDefaultSkipButtonParams() {
+    int margin = getMetrics().getButtonMargin();
+    RelativeLayout.LayoutParams lps = (LayoutParams) generateDefaultLayoutParams();
+    lps.addRule(RelativeLayout.ALIGN_PARENT_TOP);
+    lps.addRule(RelativeLayout.ALIGN_PARENT_RIGHT);
+    lps.setMargins(margin, margin + getStatusBarHeight(), margin, margin);
+    return lps;
+  }
+
   private LayoutParams generateDefaultTextParams() {
-    int margin = (int) getResources().getDimension(R.dimen.button_margin);
-    int sideMargin = (int) getResources().getDimension(R.dimen.text_padding);
+    int margin = getMetrics().getButtonMargin();
+    int sideMargin = (int) getMetrics().getTextPadding();
     RelativeLayout.LayoutParams lps = new LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT);
     lps.setMargins(sideMargin, margin, sideMargin, margin);
     return lps;
@@ -181,7 +266,7 @@ public class ShowcaseView extends RelativeLayout
   }
 
   private LayoutParams generateDefaultNavigationButtonsParams() {
-    int margin = (int) getResources().getDimension(R.dimen.button_margin);
+    int margin = getMetrics().getButtonMargin();
     RelativeLayout.LayoutParams lps = (LayoutParams) generateDefaultLayoutParams();
     lps.addRule(RelativeLayout.ALIGN_PARENT_RIGHT);
     lps.setMargins(margin, margin, margin, margin);
@@ -190,7 +275,7 @@ public class ShowcaseView extends RelativeLayout
 
   public void initImage() {
     if (mImageView != null) {
-      int margin = (int) getResources().getDimension(R.dimen.button_margin);
+      int margin = getMetrics().getButtonMargin();
       RelativeLayout.LayoutParams lps = (LayoutParams) generateDefaultLayoutParams();
       lps.addRule(RelativeLayout.ALIGN_PARENT_TOP);
       lps.addRule(RelativeLayout.CENTER_HORIZONTAL);
@@ -201,16 +286,37 @@ public class ShowcaseView extends RelativeLayout
   }
 
   public Rect getImageViewRect() {
-    int margin = (int) getResources().getDimension(R.dimen.button_margin);
     Rect rect = new Rect();
-    rect.set(mImageView.getLeft(), mImageView.getTop(),
-        mImageView.getMeasuredWidth(), 2 * margin + mImageView.getMeasuredHeight());
+    getImageViewRect(rect);
     return rect;
   }
 
+  /**
+   * Like {@link #getImageViewRect()}, but fills in the given rect rather than allocating one
+   */
+  public void getImageViewRect(Rect outRect) {
+    int margin = getMetrics().getButtonMargin();
+    outRect.set(mImageView.getLeft(), mImageView.getTop(),
+        mImageView.getMeasuredWidth(), 2 * margin + mImageView.getMeasuredHeight());
+  }
+
   private int getStatusBarHeight() {
-    int statusBarHeight = getResources().getIdentifier("status_bar_height", "dimen", "android");
-    return getResources().getDimensionPixelSize(statusBarHeight);
+    return getMetrics().getStatusBarHeight();
+  }
+
+  private ShowcaseMetrics getMetrics() {
+    return ShowcaseMetrics.get(getResources());
+  }
+
+  @Override
+  protected void onConfigurationChanged(Configuration newConfig) {
+    // Its padding comes from the metrics, which may have just changed
+    textRegionCalculator = null;
+    super.onConfigurationChanged(newConfig);
+    if (isShowing) {
+      // The content behind may look different without the window changing size
+      showcaseDrawer.prepare(this);
+    }
   }
 
   public boolean hasImageView() {
@@ -226,19 +332,159 @@ public class ShowcaseView extends RelativeLayout
   }
 
   void setShowcasePosition(int x, int y) {
+    moveShowcaseTo(x, y, showcaseRadius);
+  }
+
+  /**
+   * Move and resize the showcase straight away, and fully reposition the text around it
+   */
+  void moveShowcaseTo(int x, int y, float radius) {
+    pendingX = x;
+    pendingY = y;
+    pendingRadius = radius;
+    applyGeometry(x, y, radius, true);
+  }
+
+  /**
+   * Move and resize the showcase. Changes are applied together once per frame, however many
+   * times this is called in between, and the text is only repositioned if the showcase moves
+   * into a different part of the screen.
+   */
+  public void setShowcaseGeometry(int x, int y, float radius) {
+    pendingX = x;
+    pendingY = y;
+    pendingRadius = radius;
+    if (!geometryUpdatePending) {
+      geometryUpdatePending = true;
+      apiUtils.postOnAnimationCompat(this, applyPendingGeometry);
+    }
+  }
+
+  /**
+   * Move and resize the showcase now. This is what each frame of an animation ends up calling.
+   */
+  void applyGeometry(int x, int y, float radius, boolean repositionText) {
     if (shotStateStore.hasShot()) {
       return;
     }
+    if (!repositionText && x == showcaseX && y == showcaseY && radius == showcaseRadius) {
+      return;
+    }
     showcaseX = x;
     showcaseY = y;
-    recalculateText();
-    invalidate();
+    showcaseRadius = radius;
+    if (repositionText || getTextQuadrant() != textQuadrant || getTextRegion() != textRegion) {
+      recalculateText();
+    }
+    invalidateShowcase();
+  }
+
+  private final Runnable applyPendingGeometry = new Runnable() {
+    @Override
+    public void run() {
+      geometryUpdatePending = false;
+      applyGeometry(pendingX, pendingY, pendingRadius, false);
+    }
+  };
+
+  /**
+   * Invalidate only the area covered by the showcase before and after it moved, as the rest of
+   * the background is unchanged
+   */
+  private void invalidateShowcase() {
+    boolean isBufferDrawn = drawnBackgroundVersion == backgroundVersion;
+    // Any other change since the last draw means the whole buffer is redrawn anyway
+    boolean canRedrawPartially = isBufferDrawn || partialDirtyVersion == backgroundVersion;
+    if (isBufferDrawn) {
+      bufferDirtyBounds.setEmpty();
+    }
+    backgroundVersion++;
+    boolean hadShowcaseBounds = hasShowcaseBounds;
+    dirtyBounds.set(showcaseBounds);
+    updateShowcaseBounds();
+    if (hadShowcaseBounds && !hasNoTarget) {
+      dirtyBounds.union(showcaseBounds);
+      if (canRedrawPartially) {
+        bufferDirtyBounds.union(dirtyBounds);
+        partialDirtyVersion = backgroundVersion;
+      }
+      invalidate(dirtyBounds);
+    } else {
+      invalidate();
+    }
+  }
+
+  private void updateShowcaseBounds() {
+    showcaseAreaCalculator.calculateShowcaseRect(showcaseX, showcaseY, showcaseRadius, showcaseDrawer);
+    showcaseBounds.set(showcaseAreaCalculator.getShowcaseRect());
+    int holeRadius = (int) Math.ceil(showcaseRadius);
+    showcaseBounds.union(showcaseX - holeRadius, showcaseY - holeRadius,
+        showcaseX + holeRadius, showcaseY + holeRadius);
+    // Soft edges and scaling can reach past the hole and the decoration
+    int edgeWidth = showcaseDrawer.getEdgeWidth(showcaseRadius);
+    showcaseBounds.inset(-edgeWidth, -edgeWidth);
+    hasShowcaseBounds = true;
   }
 
   public void setTarget(final Target target) {
     setShowcase(target, false);
   }
 
+  /**
+   * Showcase several targets at once. The first is treated as the main target, which the text
+   * is placed around, and the others are cut out of the same background.
+   */
+  public void setTargets(Target... targets) {
+    mExtraTargets.clear();
+    for (int i = 1; i < targets.length; i++) {
+      mExtraTargets.add(targets[i]);
+    }
+    extraShowcaseX = new int[mExtraTargets.size()];
+    extraShowcaseY = new int[mExtraTargets.size()];
+    extraShowcaseRadius = new float[mExtraTargets.size()];
+    setTarget(targets.length > 0 ? targets[0] : null);
+  }
+
+  private void clearExtraTargets() {
+    mExtraTargets.clear();
+    extraShowcaseX = new int[0];
+    extraShowcaseY = new int[0];
+    extraShowcaseRadius = new float[0];
+    invalidateBackground();
+  }
+
+  private void updateExtraShowcases() {
+    boolean hasChanged = false;
+    for (int i = 0; i < mExtraTargets.size(); i++) {
+      Target target = mExtraTargets.get(i);
+      Point point = target.getPoint();
+      int x = point != null ? point.x : -1;
+      int y = point != null ? point.y : -1;
+      float radius = point != null ? target.getRadius() : -1;
+      if (x != extraShowcaseX[i] || y != extraShowcaseY[i] || radius != extraShowcaseRadius[i]) {
+        extraShowcaseX[i] = x;
+        extraShowcaseY[i] = y;
+        extraShowcaseRadius[i] = radius;
+        hasChanged = true;
+      }
+    }
+    if (hasChanged) {
+      invalidateBackground();
+    }
+  }
+
+  private boolean isInsideExtraShowcase(float x, float y) {
+    for (int i = 0; i < extraShowcaseRadius.length; i++) {
+      float xDelta = x - extraShowcaseX[i];
+      float yDelta = y - extraShowcaseY[i];
+      float radius = extraShowcaseRadius[i];
+      if (radius >= 0 && xDelta * xDelta + yDelta * yDelta <= radius * radius) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public void setImage(final int drawable) {
     if (drawable != -1) {
       mImageView = new ImageView(this.getContext());
@@ -254,6 +500,7 @@ public class ShowcaseView extends RelativeLayout
         if (!shotStateStore.hasShot()) {
 
           updateBitmap();
+          updateExtraShowcases();
           if (target != null) {
             Point targetPoint = target.getPoint();
             if (targetPoint != null) {
@@ -262,16 +509,15 @@ public class ShowcaseView extends RelativeLayout
               if (animate) {
                 animationFactory.animateTargetToPoint(ShowcaseView.this, targetPoint, target.getRadius());
               } else {
-                showcaseRadius = target.getRadius();
-                setShowcasePosition(targetPoint);
+                moveShowcaseTo(targetPoint.x, targetPoint.y, target.getRadius());
               }
             } else {
               hasNoTarget = true;
-              invalidate();
+              invalidateBackground();
             }
           } else {
             hasNoTarget = true;
-            invalidate();
+            invalidateBackground();
           }
         }
       }
@@ -279,16 +525,67 @@ public class ShowcaseView extends RelativeLayout
   }
 
   private void updateBitmap() {
-    if ((bitmapBuffer == null || haveBoundsChanged()) && getMeasuredWidth() > 0 && getMeasuredHeight() > 0) {
-      if (bitmapBuffer != null)
-        bitmapBuffer.recycle();
-      bitmapBuffer = Bitmap.createBitmap(getMeasuredWidth(), getMeasuredHeight(), Bitmap.Config.ARGB_8888);
+    Bitmap.Config bufferConfig = showcaseDrawer.getBufferConfig();
+    if (bufferConfig == null) {
+      clearBitmap();
+      return;
+    }
+    int sampleSize = showcaseDrawer.getBufferSampleSize();
+    int width = (getMeasuredWidth() + sampleSize - 1) / sampleSize;
+    int height = (getMeasuredHeight() + sampleSize - 1) / sampleSize;
+    if (width > 0 && height > 0 && !BitmapPool.isReusable(bitmapBuffer, width, height, bufferConfig)) {
+      clearBitmap();
+      bitmapBuffer = BitmapPool.getInstance().acquire(width, height, bufferConfig);
+      backgroundVersion++;
+    }
+  }
+
+  /**
+   * Take a picture of the content behind the ShowcaseView, draw that instead and hide the content
+   * itself, so it doesn't keep redrawing underneath the showcase. Does nothing until the showcase
+   * has faded in and the window has been laid out, or if the content is already frozen at the
+   * current size.
+   */
+  private void freezeBackground() {
+    if (frozenBackground == null || !isShowing || isHiding || !hasFadedIn ||
+        !(getParent() instanceof ViewGroup)) {
+      return;
+    }
+    ViewGroup window = (ViewGroup) getParent();
+    if (!frozenBackground.hasCaptured(window) && frozenBackground.capture(window, this)) {
+      frozenBackground.freeze(window, this);
+      invalidateBackground();
+    }
+  }
+
+  private void unfreezeBackground() {
+    if (frozenBackground != null) {
+      frozenBackground.release();
+    }
+  }
+
+  /**
+   * Swap the drawer used to render the showcase, (re)allocating the offscreen buffer it needs
+   */
+  void setShowcaseDrawer(ShowcaseDrawer drawer) {
+    showcaseDrawer.release();
+    showcaseDrawer = drawer;
+    clearBitmap();
+    if (!shotStateStore.hasShot()) {
+      updateBitmap();
+    }
+    if (isShowing) {
+      showcaseDrawer.prepare(this);
     }
+    invalidateBackground();
   }
 
-  private boolean haveBoundsChanged() {
-    return getMeasuredWidth() != bitmapBuffer.getWidth() ||
-        getMeasuredHeight() != bitmapBuffer.getHeight();
+  /**
+   * Redraw the whole background, rather than only blitting the one which was drawn last time
+   */
+  private void invalidateBackground() {
+    backgroundVersion++;
+    invalidate();
   }
 
   public boolean hasShowcaseView() {
@@ -296,11 +593,19 @@ public class ShowcaseView extends RelativeLayout
   }
 
   public void setShowcaseX(int x) {
-    setShowcasePosition(x, showcaseY);
+    setShowcaseGeometry(x, pendingY, pendingRadius);
   }
 
   public void setShowcaseY(int y) {
-    setShowcasePosition(showcaseX, y);
+    setShowcaseGeometry(pendingX, y, pendingRadius);
+  }
+
+  public void setShowcaseRadius(float radius) {
+    setShowcaseGeometry(pendingX, pendingY, radius);
+  }
+
+  public float getShowcaseRadius() {
+    return showcaseRadius;
   }
 
   public int getShowcaseX() {
@@ -344,49 +649,142 @@ public class ShowcaseView extends RelativeLayout
     }
   }
 
-  private void recalculateText() {
-    RelativeLayout.LayoutParams textParams = generateDefaultTextParams();
+  private int getTextQuadrant() {
     if (showcaseY - showcaseRadius * 2 <= 0) {
-      if (mAdjustTopMargin) {
-        int wideMargin = 2 * (int) getResources().getDimension(R.dimen.button_margin);
-        textParams.addRule(CENTER_HORIZONTAL);
-        textParams.addRule(ALIGN_TOP);
-        textParams.setMargins(wideMargin, getStatusBarHeight() + wideMargin, wideMargin, wideMargin);
-      } else {
-        textParams.addRule(CENTER_IN_PARENT);
-      }
-      setButtonPositions(true);
+      return SHOWCASE_AT_TOP_EDGE;
     } else if (showcaseY + showcaseRadius * 2 >= getMeasuredHeight()) {
+      return SHOWCASE_AT_BOTTOM_EDGE;
+    } else if (showcaseY <= getMeasuredHeight() / 2) {
+      return SHOWCASE_IN_TOP_HALF;
+    } else {
+      return SHOWCASE_IN_BOTTOM_HALF;
+    }
+  }
+
+  /**
+   * @return the side of the showcase with the most room for the text, or -1 if no side has room
+   * or the text isn't being placed around the showcase
+   */
+  private int getTextRegion() {
+    if (!placeTextAroundShowcase) {
+      return -1;
+    }
+    return pickTextRegion(getMetrics().getShowcaseMargin());
+  }
+
+  private void recalculateText() {
+    textQuadrant = getTextQuadrant();
+    textRegion = getTextRegion();
+    applyTextPlacement(calculateTextPlacement(textQuadrant, textRegion));
+  }
+
+  /**
+   * @see com.github.amlcurran.showcaseview.ShowcaseView.Builder#placeTextAroundShowcase()
+   */
+  void setPlaceTextAroundShowcase(boolean placeTextAroundShowcase) {
+    this.placeTextAroundShowcase = placeTextAroundShowcase;
+    recalculateText();
+  }
+
+  private TextPlacement calculateTextPlacement(int quadrant, int region) {
+    int margin = getMetrics().getButtonMargin();
+    if (quadrant == SHOWCASE_AT_TOP_EDGE || quadrant == SHOWCASE_AT_BOTTOM_EDGE) {
+      boolean buttonsAtBottom = mButtonsPosition || quadrant == SHOWCASE_AT_TOP_EDGE;
       if (mAdjustTopMargin) {
-        int wideMargin = 2 * (int) getResources().getDimension(R.dimen.button_margin);
-        textParams.addRule(CENTER_HORIZONTAL);
-        textParams.addRule(ALIGN_TOP);
-        textParams.setMargins(wideMargin, getStatusBarHeight() + wideMargin, wideMargin, wideMargin);
+        int wideMargin = 2 * margin;
+        return new TextPlacement(quadrant, true, wideMargin, getStatusBarHeight() + wideMargin,
+            wideMargin, wideMargin, buttonsAtBottom);
       } else {
-        textParams.addRule(CENTER_IN_PARENT);
+        int sideMargin = (int) getMetrics().getTextPadding();
+        return new TextPlacement(quadrant, false, sideMargin, margin, sideMargin, margin,
+            buttonsAtBottom);
       }
-      setButtonPositions(false);
-    } else if (showcaseY <= getMeasuredHeight() / 2) {
-      textParams.addRule(ALIGN_PARENT_TOP);
-      int margin = (int) getResources().getDimension(R.dimen.button_margin);
-      int marginTop = (int) getResources().getDimension(R.dimen.showcase_margin);
-      textParams.setMargins(margin, (int) (marginTop + showcaseY + showcaseRadius), margin, margin);
-      setButtonPositions(true);
+    }
+    int marginTop = getMetrics().getShowcaseMargin();
+    if (region == TextRegionCalculator.REGION_BOTTOM ||
+        (region == -1 && quadrant == SHOWCASE_IN_TOP_HALF)) {
+      return new TextPlacement(SHOWCASE_IN_TOP_HALF, false, margin,
+          (int) (marginTop + showcaseY + showcaseRadius), margin, margin, true);
+    } else if (region == TextRegionCalculator.REGION_TOP || region == -1) {
+      return new TextPlacement(SHOWCASE_IN_BOTTOM_HALF, false, margin, margin, margin,
+          (int) (marginTop + (getMeasuredHeight() - showcaseY) + showcaseRadius), true);
     } else {
+      // A column beside the showcase, centred vertically
+      int textLeft = (int) textRegionCalculator.getTextX();
+      int textRight = textLeft + (int) textRegionCalculator.getTextWidth();
+      return new TextPlacement(TEXT_BESIDE_SHOWCASE, false, textLeft, margin,
+          getMeasuredWidth() - textRight, margin, true);
+    }
+  }
+
+  /**
+   * Find which side of the showcase has the most room for the text, keeping clear of the image
+   * if there is one
+   *
+   * @return one of the TextRegionCalculator.REGION_ constants, or -1 if no side has room
+   */
+  private int pickTextRegion(int showcaseMargin) {
+    if (textRegionCalculator == null) {
+      textRegionCalculator = new TextRegionCalculator(getMetrics().getTextPadding(),
+          getMetrics().getActionBarOffset());
+    }
+    int reach = (int) showcaseRadius + showcaseMargin;
+    textAvoidBounds.set(showcaseX - reach, showcaseY - reach, showcaseX + reach, showcaseY + reach);
+    Rect image = null;
+    if (hasImageView()) {
+      getImageViewRect(imageBounds);
+      image = imageBounds;
+    }
+    textRegionCalculator.calculate(getMeasuredWidth(), getMeasuredHeight(), textAvoidBounds, image,
+        false, mTitleTextView.getTextSize());
+    return textRegionCalculator.getScore() > 0 ? textRegionCalculator.getRegion() : -1;
+  }
+
+  /**
+   * Move the text and buttons, reusing their layout params. As this causes a layout pass, it is
+   * skipped if nothing has changed since the last placement.
+   */
+  private void applyTextPlacement(TextPlacement placement) {
+    if (placement.equals(textPlacement)) {
+      return;
+    }
+    RelativeLayout.LayoutParams textParams = (LayoutParams) mTextContainer.getLayoutParams();
+    // removeRule() isn't available until API 17
+    textParams.addRule(CENTER_IN_PARENT, 0);
+    textParams.addRule(CENTER_HORIZONTAL, 0);
+    textParams.addRule(CENTER_VERTICAL, 0);
+    textParams.addRule(ALIGN_TOP, 0);
+    textParams.addRule(ALIGN_PARENT_TOP, 0);
+    textParams.addRule(ALIGN_PARENT_BOTTOM, 0);
+    if (placement.quadrant == SHOWCASE_IN_TOP_HALF) {
+      textParams.addRule(ALIGN_PARENT_TOP);
+    } else if (placement.quadrant == TEXT_BESIDE_SHOWCASE) {
+      textParams.addRule(CENTER_VERTICAL);
+    } else if (placement.quadrant == SHOWCASE_IN_BOTTOM_HALF) {
       textParams.addRule(ALIGN_PARENT_BOTTOM);
-      int margin = (int) getResources().getDimension(R.dimen.button_margin);
-      int marginTop = (int) getResources().getDimension(R.dimen.showcase_margin);
-      textParams.setMargins(margin, margin, margin,  (int) (marginTop + (getMeasuredHeight() - showcaseY) + showcaseRadius));
-      setButtonPositions(true);
+    } else if (placement.adjustTopMargin) {
+      textParams.addRule(CENTER_HORIZONTAL);
+      textParams.addRule(ALIGN_TOP);
+    } else {
+      textParams.addRule(CENTER_IN_PARENT);
     }
+    textParams.setMargins(placement.marginLeft, placement.marginTop, placement.marginRight,
+        placement.marginBottom);
     mTextContainer.setLayoutParams(textParams);
+
+    if (textPlacement == null || textPlacement.buttonsAtBottom != placement.buttonsAtBottom) {
+      setButtonPositions(placement.buttonsAtBottom);
+    }
+    textPlacement = placement;
   }
 
   private void setButtonPositions(boolean bottom) {
-    RelativeLayout.LayoutParams buttonParams = generateDefaultNavigationButtonsParams();
-    if (mButtonsPosition || bottom) {
+    RelativeLayout.LayoutParams buttonParams = (LayoutParams) mNavigationButtonsContainer.getLayoutParams();
+    if (bottom) {
+      buttonParams.addRule(BELOW, 0);
       buttonParams.addRule(ALIGN_PARENT_BOTTOM);
     } else {
+      buttonParams.addRule(ALIGN_PARENT_BOTTOM, 0);
       buttonParams.addRule(BELOW, mTextContainer.getId());
     }
     mNavigationButtonsContainer.setLayoutParams(buttonParams);
@@ -395,17 +793,36 @@ public class ShowcaseView extends RelativeLayout
   @SuppressWarnings("NullableProblems")
   @Override
   protected void dispatchDraw(Canvas canvas) {
-    if (showcaseX < 0 || showcaseY < 0 || shotStateStore.hasShot() || bitmapBuffer == null) {
+    if (frozenBackground != null) {
+      // Stands in for the hidden content, even before the showcase has been positioned
+      frozenBackground.draw(canvas, this);
+    }
+    // A single-shot showcase is marked as shot when it starts hiding, but is drawn as it fades out
+    if (showcaseX < 0 || showcaseY < 0 || (shotStateStore.hasShot() && !isShowing) ||
+        hasReleasedBackground || !hasBufferIfNeeded()) {
       super.dispatchDraw(canvas);
       return;
     }
 
-    //Draw background color
-    showcaseDrawer.erase(bitmapBuffer);
-
-    // Draw the showcase drawable
-    if (!hasNoTarget) {
-      showcaseDrawer.drawShowcase(bitmapBuffer, showcaseX, showcaseY, scaleMultiplier, showcaseRadius);
+    // Only render the background again if it has changed since it was last drawn. Otherwise
+    // (e.g. a button was pressed) the previous one can simply be drawn again
+    if (drawnBackgroundVersion != backgroundVersion) {
+      // Only the area around the showcase needs redrawing if nothing else has changed. Any extra
+      // showcases are still drawn, but only inside it
+      showcaseDrawer.erase(bitmapBuffer,
+          partialDirtyVersion == backgroundVersion ? bufferDirtyBounds : null);
+
+      // Draw the showcase drawable
+      if (!hasNoTarget) {
+        showcaseDrawer.drawShowcase(bitmapBuffer, showcaseX, showcaseY, scaleMultiplier, showcaseRadius);
+      }
+      for (int i = 0; i < extraShowcaseRadius.length; i++) {
+        if (extraShowcaseRadius[i] >= 0) {
+          showcaseDrawer.drawShowcase(bitmapBuffer, extraShowcaseX[i], extraShowcaseY[i],
+              scaleMultiplier, extraShowcaseRadius[i]);
+        }
+      }
+      drawnBackgroundVersion = backgroundVersion;
     }
 
     showcaseDrawer.drawToCanvas(canvas, bitmapBuffer);
@@ -413,6 +830,10 @@ public class ShowcaseView extends RelativeLayout
     super.dispatchDraw(canvas);
   }
 
+  private boolean hasBufferIfNeeded() {
+    return bitmapBuffer != null || showcaseDrawer.getBufferConfig() == null;
+  }
+
   @Override
   public void hide() {
     dispatchHide(HideReason.NEXT);
@@ -428,13 +849,32 @@ public class ShowcaseView extends RelativeLayout
   }
 
   public void dispatchHide(HideReason reason) {
+    unfreezeBackground();
+    isHiding = true;
+    hasFadedIn = false;
+    // If the type is set to one-shot, store that it has shot
+    shotStateStore.storeShot();
+    fadeOutShowcase(reason);
+  }
+
+  /**
+   * Give the buffer back to the pool and stop following layout changes. This waits until the
+   * fade out has finished, as the fading view is still drawn from the buffer.
+   */
+  private void releaseBackground() {
     clearBitmap();
+    showcaseDrawer.release();
+    hasReleasedBackground = true;
     if (mUpdateOnGlobalLayout != null) {
       removeOnGlobalLayoutListener();
     }
-    // If the type is set to one-shot, store that it has shot
-    shotStateStore.storeShot();
-    fadeOutShowcase(reason);
+  }
+
+  @Override
+  protected void onDetachedFromWindow() {
+    super.onDetachedFromWindow();
+    // Don't leave the content hidden if the ShowcaseView is removed without being hidden
+    unfreezeBackground();
   }
 
   private void removeOnGlobalLayoutListener() {
@@ -446,9 +886,11 @@ public class ShowcaseView extends RelativeLayout
   }
 
   private void clearBitmap() {
-    if (bitmapBuffer != null && !bitmapBuffer.isRecycled()) {
-      bitmapBuffer.recycle();
+    if (bitmapBuffer != null) {
+      BitmapPool.getInstance().release(bitmapBuffer);
+      showcaseDrawer.release();
       bitmapBuffer = null;
+      backgroundVersion++;
     }
   }
 
@@ -456,9 +898,18 @@ public class ShowcaseView extends RelativeLayout
     animationFactory.fadeOutView(this, fadeOutMillis, new AnimationEndListener() {
       @Override
       public void onAnimationEnd() {
+        if (!isHiding) {
+          // Shown again, e.g. by retarget(), before it had finished hiding
+          return;
+        }
+        isHiding = false;
+        releaseBackground();
         setVisibility(View.GONE);
         isShowing = false;
         mEventListener.onShowcaseViewDidHide(ShowcaseView.this, reason);
+        if (recycleOnHide) {
+          recycle();
+        }
       }
     });
   }
@@ -466,17 +917,37 @@ public class ShowcaseView extends RelativeLayout
   @Override
   public void show() {
     isShowing = true;
+    isHiding = false;
+    if (hasReleasedBackground) {
+      hasReleasedBackground = false;
+      // Removed when this was last hidden
+      getViewTreeObserver().addOnGlobalLayoutListener(mUpdateOnGlobalLayout);
+      updateBitmap();
+      invalidateBackground();
+    }
+    showcaseDrawer.prepare(this);
     mEventListener.onShowcaseViewShow(this);
     fadeInShowcase();
   }
 
   private void fadeInShowcase() {
+    hasFadedIn = false;
     animationFactory.fadeInView(this, fadeInMillis,
         new AnimationStartListener() {
           @Override
           public void onAnimationStart() {
             setVisibility(View.VISIBLE);
           }
+        },
+        new AnimationEndListener() {
+          @Override
+          public void onAnimationEnd() {
+            if (isShowing && !isHiding) {
+              // The content shows through the fade, so it can only be hidden now
+              hasFadedIn = true;
+              freezeBackground();
+            }
+          }
         }
     );
   }
@@ -487,20 +958,24 @@ public class ShowcaseView extends RelativeLayout
     float xDelta = Math.abs(motionEvent.getRawX() - showcaseX);
     float yDelta = Math.abs(motionEvent.getRawY() - showcaseY);
     double distanceFromFocus = Math.sqrt(Math.pow(xDelta, 2) + Math.pow(yDelta, 2));
+    boolean isInsideShowcase = distanceFromFocus <= showcaseRadius ||
+        isInsideExtraShowcase(motionEvent.getRawX(), motionEvent.getRawY());
 
     if (MotionEvent.ACTION_UP == motionEvent.getAction() &&
-        hideOnTouch && distanceFromFocus > showcaseRadius) {
+        hideOnTouch && !isInsideShowcase) {
       this.hide();
       return true;
     }
 
-    return (blockTouches && distanceFromFocus > showcaseRadius) ||
-        (blockInsideWindowTouches && distanceFromFocus <= showcaseRadius);
+    return (blockTouches && !isInsideShowcase) ||
+        (blockInsideWindowTouches && isInsideShowcase);
   }
 
   private static void insertShowcaseView(ShowcaseView showcaseView, Activity activity) {
     showcaseView.initImage();
-    ((ViewGroup) activity.getWindow().getDecorView()).addView(showcaseView);
+    if (showcaseView.getParent() == null) {
+      ((ViewGroup) activity.getWindow().getDecorView()).addView(showcaseView);
+    }
     if (!showcaseView.hasShot()) {
       showcaseView.show();
     } else {
@@ -538,12 +1013,147 @@ public class ShowcaseView extends RelativeLayout
   public void setExpireAfter(long millis) {
     mSkipButton.setVisibility(View.GONE);
     mNavigationButtonsContainer.setVisibility(View.GONE);
-    postDelayed(new Runnable() {
-      @Override
-      public void run() {
-        nextOnClickListener.onClick(ShowcaseView.this);
+    postDelayed(expire, millis);
+  }
+
+  private final Runnable expire = new Runnable() {
+    @Override
+    public void run() {
+      nextOnClickListener.onClick(ShowcaseView.this);
+    }
+  };
+
+  /**
+   * Move this ShowcaseView on to another target, with new text, animating the showcase across
+   * rather than building a new ShowcaseView for the next step. If it has been hidden, it is shown
+   * again. This has no effect on a single-shot ShowcaseView which has already been shown.
+   *
+   * @param style a style resource, as in {@link #setStyle(int)}, or 0 to keep the current style
+   */
+  public void retarget(Target target, CharSequence title, CharSequence text, int style) {
+    if (shotStateStore.hasShot()) {
+      return;
+    }
+    setContentTitle(title);
+    setContentText(text);
+    if (style != 0) {
+      setStyle(style);
+    }
+    if (hasReleasedBackground || isHiding) {
+      show();
+    }
+    clearExtraTargets();
+    setShowcase(target, true);
+  }
+
+  private boolean isNewStyle() {
+    return styleDrawer instanceof NewShowcaseDrawer;
+  }
+
+  /**
+   * Put a hidden ShowcaseView into its activity's pool, leaving it attached, so that the next
+   * {@link Builder} for the activity can use it
+   */
+  private void recycle() {
+    if (!(getParent() instanceof ViewGroup)) {
+      return;
+    }
+    ViewGroup decorView = (ViewGroup) getParent();
+    @SuppressWarnings("unchecked")
+    List<ShowcaseView> pool = (List<ShowcaseView>) decorView.getTag(R.id.showcase_view_pool);
+    if (pool == null) {
+      // The pool hangs off the decor view, so it goes away along with the activity
+      pool = new ArrayList<ShowcaseView>();
+      decorView.setTag(R.id.showcase_view_pool, pool);
+    }
+    if (pool.size() < MAX_POOLED_PER_ACTIVITY) {
+      pool.add(this);
+    } else {
+      decorView.removeView(this);
+    }
+  }
+
+  private static ShowcaseView takeFromPool(Activity activity, boolean newStyle) {
+    View decorView = activity.getWindow().getDecorView();
+    @SuppressWarnings("unchecked")
+    List<ShowcaseView> pool = (List<ShowcaseView>) decorView.getTag(R.id.showcase_view_pool);
+    if (pool != null) {
+      for (int i = 0; i < pool.size(); i++) {
+        if (pool.get(i).isNewStyle() == newStyle) {
+          return pool.remove(i);
+        }
       }
-    }, millis);
+    }
+    return null;
+  }
+
+  /**
+   * Put a pooled ShowcaseView back into the state a newly constructed one would be in, as far as
+   * the {@link Builder} can change it
+   */
+  private void reset() {
+    removeCallbacks(expire);
+    recycleOnHide = false;
+    mEventListener = OnShowcaseEventListener.NONE;
+    hasCustomClickListener = false;
+    mNextButton.setOnClickListener(nextOnClickListener);
+    blockTouches = true;
+    blockInsideWindowTouches = false;
+    hideOnTouch = false;
+    shotStateStore.clearSingleShot();
+
+    mTarget = null;
+    hasNoTarget = false;
+    showcaseX = -1;
+    showcaseY = -1;
+    showcaseRadius = 0;
+    // Forget where the last use put the text, so the next one lays it out afresh
+    textQuadrant = -1;
+    textRegion = -1;
+    textPlacement = null;
+    clearExtraTargets();
+    if (mImageView != null) {
+      removeView(mImageView);
+      mImageView = null;
+    }
+
+    mAdjustTopMargin = false;
+    mButtonsPosition = false;
+    placeTextAroundShowcase = false;
+    mTitleTextView.setText(null);
+    mDetailTextView.setText(null);
+    mSkipButton.setVisibility(VISIBLE);
+    mSkipButton.setText(R.string.skip);
+    mSkipButton.setLayoutParams(generateDefaultSkipButtonParams());
+    mNextButton.setVisibility(VISIBLE);
+    mBackButton.setVisibility(VISIBLE);
+    mNavigationButtonsContainer.setVisibility(VISIBLE);
+    setLayoutSize(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT);
+
+    unfreezeBackground();
+    frozenBackground = null;
+    styleDrawer.resetOuterRadius();
+    if (showcaseDrawer != styleDrawer) {
+      setShowcaseDrawer(styleDrawer);
+    }
+    updateStyle(getContext().getTheme().obtainStyledAttributes(null, R.styleable.ShowcaseView,
+        R.attr.showcaseViewStyle, R.style.ShowcaseView), true);
+  }
+
+  /**
+   * Change the size the ShowcaseView asks its parent for. A pooled ShowcaseView is still attached
+   * to the decor view, which expects its own kind of layout params, so existing params are
+   * changed rather than replaced.
+   */
+  private void setLayoutSize(int width, int height) {
+    ViewGroup.LayoutParams lps = getLayoutParams();
+    if (lps == null) {
+      lps = new ViewGroup.LayoutParams(width, height);
+    } else {
+      lps.width = width;
+      lps.height = height;
+    }
+    setLayoutParams(lps);
   }
 
   /**
@@ -561,7 +1171,13 @@ public class ShowcaseView extends RelativeLayout
 
     public Builder(Activity activity, boolean useNewStyle) {
       this.activity = activity;
-      this.showcaseView = new ShowcaseView(activity, useNewStyle);
+      ShowcaseView pooledView = takeFromPool(activity, useNewStyle);
+      if (pooledView != null) {
+        pooledView.reset();
+        this.showcaseView = pooledView;
+      } else {
+        this.showcaseView = new ShowcaseView(activity, useNewStyle);
+      }
     }
 
     /**
@@ -615,6 +1231,17 @@ public class ShowcaseView extends RelativeLayout
       return this;
     }
 
+    /**
+     * Showcase several targets at once, all cut out of the same background.
+     *
+     * @param targets the {@link com.github.amlcurran.showcaseview.targets.Target}s to showcase.
+     * The text is positioned around the first one.
+     */
+    public Builder setTargets(Target... targets) {
+      showcaseView.setTargets(targets);
+      return this;
+    }
+
     /**
      * Instead of the target, show the image.
      *
@@ -730,8 +1357,7 @@ public class ShowcaseView extends RelativeLayout
 
     public Builder setHeight(int height) {
       if (height != -1) {
-        ViewGroup.LayoutParams lps = new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, height);
-        showcaseView.setLayoutParams(lps);
+        showcaseView.setLayoutSize(ViewGroup.LayoutParams.MATCH_PARENT, height);
         showcaseView.invalidate();
       }
       return this;
@@ -739,8 +1365,7 @@ public class ShowcaseView extends RelativeLayout
 
     public Builder setWidth(int width) {
       if (width != -1) {
-        ViewGroup.LayoutParams lps = new ViewGroup.LayoutParams(width, ViewGroup.LayoutParams.MATCH_PARENT);
-        showcaseView.setLayoutParams(lps);
+        showcaseView.setLayoutSize(width, ViewGroup.LayoutParams.MATCH_PARENT);
         showcaseView.invalidate();
       }
       return this;
@@ -754,6 +1379,15 @@ public class ShowcaseView extends RelativeLayout
       return this;
     }
 
+    /**
+     * Put the text on whichever side of the showcase has the most room, keeping clear of the
+     * image, instead of above or below it. Text beside the showcase is centred vertically.
+     */
+    public Builder placeTextAroundShowcase() {
+      showcaseView.setPlaceTextAroundShowcase(true);
+      return this;
+    }
+
     public Builder setTitleSize(int spSize) {
       if (spSize != -1) {
         showcaseView.mTitleTextView.setTextSize(TypedValue.COMPLEX_UNIT_SP, spSize);
@@ -771,7 +1405,138 @@ public class ShowcaseView extends RelativeLayout
     public Builder setOuterRadius(int pxRadius) {
       if (pxRadius != -1) {
         showcaseView.showcaseDrawer.setOuterRadius(pxRadius);
+        showcaseView.invalidateBackground();
+      }
+      return this;
+    }
+
+    /**
+     * Draw the showcase straight onto the screen, rather than through a full-screen offscreen
+     * bitmap. This saves a screen-sized bitmap per ShowcaseView, which matters on low-memory
+     * devices.
+     */
+    public Builder useBufferlessDrawing() {
+      showcaseView.setShowcaseDrawer(new DirectShowcaseDrawer(showcaseView.styleDrawer));
+      return this;
+    }
+
+    /**
+     * Keep only an alpha mask of the background offscreen, tinted with the background colour as
+     * it is drawn. This uses a quarter of the memory of the default full-colour buffer.
+     */
+    public Builder useAlphaMaskBuffer() {
+      showcaseView.setShowcaseDrawer(new MaskShowcaseDrawer(showcaseView.styleDrawer));
+      return this;
+    }
+
+    /**
+     * Draw the background as a single gradient fill, without any offscreen buffer. Moving the
+     * showcase only moves the gradient, which makes this the cheapest way to animate it.
+     *
+     * @param softEdge true to fade the background in around the showcase, rather than giving it
+     * a hard edge
+     */
+    public Builder useShaderDrawing(boolean softEdge) {
+      showcaseView.setShowcaseDrawer(new ShaderShowcaseDrawer(showcaseView.styleDrawer, softEdge));
+      return this;
+    }
+
+    /**
+     * Render the background at a lower resolution and scale it up as it is drawn, which divides
+     * the memory used by the offscreen buffer by the square of the sample size.
+     *
+     * @param sampleSize how many times smaller the buffer is in each dimension, e.g. 2 or 4
+     * @param sharpHighlight true to draw the showcase decoration at full resolution on top of the
+     * scaled background, rather than scaling it with the background
+     */
+    public Builder useDownscaledBuffer(int sampleSize, boolean sharpHighlight) {
+      if (sampleSize < 1) {
+        throw new IllegalArgumentException("sampleSize must be at least 1, was " + sampleSize);
+      }
+      showcaseView.setShowcaseDrawer(
+          new ScaledShowcaseDrawer(showcaseView.styleDrawer, sampleSize, sharpHighlight));
+      return this;
+    }
+
+    /**
+     * Only render the area around the showcase offscreen, filling the rest of the background
+     * with plain rectangles. The memory used then depends on the size of the showcase rather
+     * than the size of the screen, which helps most on tablets.
+     */
+    public Builder useShowcaseSizedBuffer() {
+      showcaseView.setShowcaseDrawer(new PatchShowcaseDrawer(showcaseView.styleDrawer));
+      return this;
+    }
+
+    /**
+     * Only restore the area where the showcase was last drawn before drawing it again, rather
+     * than erasing the whole background every frame. This makes animating the showcase cheaper
+     * on large screens.
+     */
+    public Builder useIncrementalErase() {
+      showcaseView.setShowcaseDrawer(new IncrementalShowcaseDrawer(showcaseView.styleDrawer));
+      return this;
+    }
+
+    /**
+     * Take a picture of the activity's content when the showcase is shown, and draw that behind
+     * the showcase instead of the live content, which is hidden until the showcase is hidden.
+     * Use this for screens which are expensive to draw, such as animated lists.
+     * <p/>
+     * Content shown through a SurfaceView or TextureView, such as maps and video, can't be
+     * captured. Screens with one are left drawing live, as if this hadn't been called.
+     * <p/>
+     * The content is frozen once the showcase has faded in, and is live again as soon as it starts
+     * fading out. While it is frozen, touches inside the showcase, including taps on the target,
+     * don't reach it, and it is hidden from accessibility services. Focus is given back to it when
+     * it is unfrozen.
+     *
+     * @param sampleSize how many times smaller than the screen the picture is. Above 1, this saves
+     *                   memory at the cost of a blurrier background
+     */
+    public Builder freezeBackground(int sampleSize) {
+      if (sampleSize < 1) {
+        throw new IllegalArgumentException("sampleSize must be at least 1, was " + sampleSize);
       }
+      showcaseView.frozenBackground = new BackgroundSnapshot(sampleSize);
+      return this;
+    }
+
+    /**
+     * Draw the background as a blurred picture of the content behind the showcase, tinted with
+     * the background colour. The blur is worked out on a background thread when the showcase is
+     * shown, and again when the window's size or configuration changes, so it doesn't follow
+     * changes in the content. This can't be combined with {@link #freezeBackground(int)}.
+     *
+     * @param sampleSize how many times smaller than the screen the blurred picture is
+     * @param blurRadius the radius of the blur, in pixels of the downsampled picture
+     */
+    public Builder useBlurredBackground(int sampleSize, int blurRadius) {
+      if (sampleSize < 1) {
+        throw new IllegalArgumentException("sampleSize must be at least 1, was " + sampleSize);
+      }
+      showcaseView.setShowcaseDrawer(new BlurShowcaseDrawer(showcaseView.styleDrawer, showcaseView,
+          sampleSize, blurRadius));
+      return this;
+    }
+
+    /**
+     * Once the ShowcaseView has been hidden, keep it attached to the activity so that the next
+     * Builder for the same activity can reuse it instead of creating and attaching a new one.
+     * Don't keep hold of a ShowcaseView after it has been hidden when using this.
+     */
+    public Builder recycleOnHide() {
+      showcaseView.recycleOnHide = true;
+      return this;
+    }
+
+    /**
+     * Draw the showcase from a cache of prerendered stamps once its radius has settled, which
+     * makes moving it a couple of bitmap copies per frame. While the radius is animating, the
+     * showcase is drawn directly.
+     */
+    public Builder useCachedShowcaseStamps() {
+      showcaseView.setShowcaseDrawer(new StampShowcaseDrawer(showcaseView.styleDrawer));
       return this;
     }
   }
@@ -861,7 +1626,9 @@ public class ShowcaseView extends RelativeLayout
     mDetailTextView.setTextAppearance(getContext(), detailTextAppearance);
 
     if (invalidate) {
-      invalidate();
+      invalidateBackground();
+    } else {
+      backgroundVersion++;
     }
   }
 
@@ -881,6 +1648,9 @@ public class ShowcaseView extends RelativeLayout
     public void onGlobalLayout() {
       if (!shotStateStore.hasShot()) {
         updateBitmap();
+        updateExtraShowcases();
+        freezeBackground();
+        showcaseDrawer.prepare(ShowcaseView.this);
       }
       if (mTarget != null && mTarget.getPoint() != null && !mTarget.getPoint().equals(showcaseX, showcaseY)) {
         setShowcasePosition(mTarget.getPoint());
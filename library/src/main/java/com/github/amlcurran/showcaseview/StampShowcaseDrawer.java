@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffXfermode;
+import android.graphics.Rect;
+
+/**
+ * Draws each showcase as copies of prerendered stamps from the {@link HoleStampCache}, instead of
+ * anti-aliasing the hole and highlight every frame. Holes are cut out of the buffer with
+ * DST_OUT, so overlapping showcases combine, and the highlights go on top once every hole is cut.
+ * A stamp is only rendered once a showcase is drawn at the same radius twice in a row; while the
+ * radius is animating, showcases are drawn directly, as a new stamp for every frame would cost
+ * far more than it saves.
+ */
+class StampShowcaseDrawer extends DelegatingShowcaseDrawer {
+
+  private final Paint holePaint;
+  private final Paint directHolePaint;
+  private final BufferCanvas bufferCanvas = new BufferCanvas();
+  // The radius each showcase was drawn at last time, to tell when it has stopped changing
+  private float[] previousRadius = new float[1];
+
+  public StampShowcaseDrawer(StandardShowcaseDrawer styleDrawer) {
+    super(styleDrawer);
+    holePaint = new Paint();
+    holePaint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.DST_OUT));
+    directHolePaint = new Paint(holePaint);
+    directHolePaint.setAntiAlias(true);
+  }
+
+  @Override
+  public Bitmap.Config getBufferConfig() {
+    return Bitmap.Config.ARGB_8888;
+  }
+
+  @Override
+  public void erase(Bitmap bitmapBuffer, Rect area) {
+    super.erase(bitmapBuffer, area);
+    if (area == null) {
+      bufferCanvas.setClip(bitmapBuffer, null, 1);
+      bitmapBuffer.eraseColor(getBackgroundColour());
+    } else {
+      bufferCanvas.setClip(bitmapBuffer, area, 1).drawColor(getBackgroundColour(), PorterDuff.Mode.SRC);
+    }
+  }
+
+  @Override
+  public int getEdgeWidth(float radius) {
+    // Stamps are placed at whole pixels
+    return 1 + super.getEdgeWidth(radius);
+  }
+
+  @Override
+  public void drawShowcase(Bitmap buffer, float x, float y, float scaleMultiplier, float radius) {
+    int index = holeCount;
+    super.drawShowcase(buffer, x, y, scaleMultiplier, radius);
+    if (index == previousRadius.length) {
+      previousRadius = grow(previousRadius);
+    }
+    boolean isSettled = previousRadius[index] == radius;
+    previousRadius[index] = radius;
+
+    HoleStampCache.Stamp stamp = isSettled ? HoleStampCache.get(styleDrawer, radius)
+        : HoleStampCache.peek(styleDrawer, radius);
+    Canvas canvas = bufferCanvas.get(buffer);
+    if (stamp == null) {
+      canvas.drawCircle(x, y, styleDrawer.getHoleRadius(radius), directHolePaint);
+    } else {
+      Bitmap hole = stamp.hole;
+      canvas.drawBitmap(hole,
+          (int) (x - hole.getWidth() / 2f), (int) (y - hole.getHeight() / 2f), holePaint);
+    }
+  }
+
+  @Override
+  public void drawToCanvas(Canvas canvas, Bitmap bitmapBuffer) {
+    canvas.drawBitmap(bitmapBuffer, 0, 0, null);
+    for (int i = 0; i < holeCount; i++) {
+      HoleStampCache.Stamp stamp = HoleStampCache.peek(styleDrawer, getShowcaseRadius(i));
+      if (stamp == null) {
+        drawHighlight(canvas, i);
+      } else {
+        Bitmap highlight = stamp.highlight;
+        canvas.drawBitmap(highlight, (int) (getHoleX(i) - highlight.getWidth() / 2f),
+            (int) (getHoleY(i) - highlight.getHeight() / 2f), null);
+      }
+    }
+  }
+}
@@ -22,13 +22,19 @@ import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.PorterDuff;
 import android.graphics.PorterDuffXfermode;
+import android.graphics.Rect;
 import android.graphics.drawable.Drawable;
+import android.view.View;
 
 class StandardShowcaseDrawer implements ShowcaseDrawer {
 
   protected final Paint eraserPaint;
   protected final Drawable showcaseDrawable;
   private final Paint basicPaint;
+  private final BufferCanvas bufferCanvas = new BufferCanvas();
+  private final int densityDpi;
+  private int showcaseColour;
+  private Bitmap clingBitmap;
   private float showcaseRadius;
   protected int backgroundColour;
 
@@ -42,29 +48,55 @@ class StandardShowcaseDrawer implements ShowcaseDrawer {
     basicPaint = new Paint();
     showcaseRadius = resources.getDimension(R.dimen.showcase_radius);
     showcaseDrawable = resources.getDrawable(R.drawable.cling_bleached);
+    densityDpi = resources.getDisplayMetrics().densityDpi;
   }
 
   @Override
   public void setOuterRadius(int pxRadius) {
   }
 
+  /**
+   * Undo any {@link #setOuterRadius(int)}
+   */
+  void resetOuterRadius() {
+  }
+
   @Override
   public void setShowcaseColour(int color) {
-    showcaseDrawable.setColorFilter(color, PorterDuff.Mode.MULTIPLY);
+    showcaseColour = color;
+    clingBitmap = null;
+  }
+
+  int getShowcaseColour() {
+    return showcaseColour;
   }
 
   @Override
   public void drawShowcase(Bitmap buffer, float x, float y, float scaleMultiplier, float radius) {
-    Canvas bufferCanvas = new Canvas(buffer);
-    bufferCanvas.drawCircle(x, y, radius, eraserPaint);
-    int halfW = getShowcaseWidth(radius) / 2;
-    int halfH = getShowcaseHeight(radius) / 2;
-    int left = (int) (x - halfW);
-    int top = (int) (y - halfH);
-    showcaseDrawable.setBounds(left, top,
-        left + getShowcaseWidth(radius),
-        top + getShowcaseHeight(radius));
-    showcaseDrawable.draw(bufferCanvas);
+    Canvas canvas = bufferCanvas.get(buffer);
+    canvas.drawCircle(x, y, getHoleRadius(radius), eraserPaint);
+    drawHighlight(canvas, x, y, radius);
+  }
+
+  /**
+   * The radius of the area which is cut out of the background for a showcase of the given radius
+   */
+  float getHoleRadius(float radius) {
+    return radius;
+  }
+
+  /**
+   * Draw the decoration which surrounds the showcased area, without touching the background
+   */
+  void drawHighlight(Canvas canvas, float x, float y, float radius) {
+    int width = getShowcaseWidth(radius);
+    int height = getShowcaseHeight(radius);
+    if (clingBitmap == null) {
+      clingBitmap = ClingCache.get(showcaseDrawable, showcaseColour, densityDpi, width, height);
+    }
+    int left = (int) (x - width / 2);
+    int top = (int) (y - height / 2);
+    canvas.drawBitmap(clingBitmap, left, top, basicPaint);
   }
 
   @Override
@@ -83,8 +115,37 @@ class StandardShowcaseDrawer implements ShowcaseDrawer {
   }
 
   @Override
-  public void erase(Bitmap bitmapBuffer) {
-    bitmapBuffer.eraseColor(backgroundColour);
+  public Bitmap.Config getBufferConfig() {
+    return Bitmap.Config.ARGB_8888;
+  }
+
+  @Override
+  public int getBufferSampleSize() {
+    return 1;
+  }
+
+  @Override
+  public void erase(Bitmap bitmapBuffer, Rect area) {
+    if (area == null) {
+      bufferCanvas.setClip(bitmapBuffer, null, 1);
+      bitmapBuffer.eraseColor(backgroundColour);
+    } else {
+      bufferCanvas.setClip(bitmapBuffer, area, 1).drawColor(backgroundColour, PorterDuff.Mode.SRC);
+    }
+  }
+
+  @Override
+  public int getEdgeWidth(float radius) {
+    // Anti-aliasing, and the decoration being placed at whole pixels
+    return 2;
+  }
+
+  @Override
+  public void prepare(View showcaseView) {
+  }
+
+  @Override
+  public void release() {
   }
 
   @Override
@@ -26,9 +26,6 @@ import android.text.SpannableString;
 import android.text.TextPaint;
 import android.text.TextUtils;
 import android.text.style.TextAppearanceSpan;
-import android.view.ViewGroup.LayoutParams;
-import android.widget.RelativeLayout;
-import android.widget.TextView;
 
 /**
  * Draws the text as required by the ShowcaseView
@@ -39,11 +36,12 @@ class TextDrawer {
   private final TextPaint textPaint;
   private final Context context;
   private final ShowcaseAreaCalculator calculator;
-  private final float padding;
-  private final float actionBarOffset;
+  private final TextRegionCalculator regionCalculator;
 
   private CharSequence mTitle, mDetails;
   private float[] mBestTextPosition = new float[3];
+  private final Rect mShowcaseRect = new Rect();
+  private final Rect mImageRect = new Rect();
   private DynamicLayout mDynamicTitleLayout;
   private DynamicLayout mDynamicDetailLayout;
   private TextAppearanceSpan mTitleSpan;
@@ -51,8 +49,8 @@ class TextDrawer {
   private boolean hasRecalculated;
 
   public TextDrawer(Resources resources, ShowcaseAreaCalculator calculator, Context context) {
-    padding = resources.getDimension(R.dimen.text_padding);
-    actionBarOffset = resources.getDimension(R.dimen.action_bar_offset);
+    ShowcaseMetrics metrics = ShowcaseMetrics.get(resources);
+    regionCalculator = new TextRegionCalculator(metrics.getTextPadding(), metrics.getActionBarOffset());
 
     this.calculator = calculator;
     this.context = context;
@@ -127,71 +125,28 @@ class TextDrawer {
    */
   public void calculateTextPosition(int canvasW, int canvasH, ShowcaseView showcaseView, boolean shouldCentreText) {
 
-    Rect showcase = new Rect();
+    Rect showcase = mShowcaseRect;
     if (showcaseView.hasShowcaseView()) {
-      showcase = calculator.getShowcaseRect();
+      showcase.set(calculator.getShowcaseRect());
     } else if (showcaseView.hasImageView()) {
-      showcase = showcaseView.getImageViewRect();
+      showcaseView.getImageViewRect(showcase);
+    } else {
+      showcase.setEmpty();
     }
 
-    int[] areas = new int[4]; //left, top, right, bottom
-    areas[0] = showcase.left * canvasH;
-    areas[1] = showcase.top * canvasW;
-    areas[2] = (canvasW - showcase.right) * canvasH;
-    areas[3] = (canvasH - showcase.bottom) * canvasW;
-
-    int largest = 0;
-    for (int i = 1; i < areas.length; i++) {
-      if (areas[i] > areas[largest])
-        largest = i;
+    Rect image = null;
+    if (showcaseView.hasShowcaseView() && showcaseView.hasImageView()) {
+      showcaseView.getImageViewRect(mImageRect);
+      image = mImageRect;
     }
 
-    // Position text in largest area
-    switch (largest) {
-    case 0:
-      mBestTextPosition[0] = padding;
-      mBestTextPosition[1] = padding;
-      mBestTextPosition[2] = showcase.left - 2 * padding;
-      break;
-    case 1:
-      mBestTextPosition[0] = padding;
-      mBestTextPosition[1] = padding + actionBarOffset;
-      mBestTextPosition[2] = canvasW - 2 * padding;
-      break;
-    case 2:
-      mBestTextPosition[0] = showcase.right + padding;
-      mBestTextPosition[1] = padding;
-      mBestTextPosition[2] = (canvasW - showcase.right) - 2 * padding;
-      break;
-    case 3:
-      mBestTextPosition[0] = padding;
-      mBestTextPosition[1] = showcase.bottom + padding;
-      mBestTextPosition[2] = canvasW - 2 * padding;
-      break;
+    if (!regionCalculator.calculate(canvasW, canvasH, showcase, image, shouldCentreText,
+        titlePaint.getTextSize())) {
+      return;
     }
-    if (shouldCentreText) {
-      // Center text vertically or horizontally
-      switch (largest) {
-      case 0:
-      case 2:
-        mBestTextPosition[1] += canvasH / 4;
-        break;
-      case 1:
-      case 3:
-        mBestTextPosition[2] /= 2;
-        mBestTextPosition[0] += canvasW / 4;
-        break;
-      }
-    } else {
-      // As text is not centered add actionbar padding if the text is left or right
-      switch (largest) {
-      case 0:
-      case 2:
-        mBestTextPosition[1] += actionBarOffset;
-        break;
-      }
-    }
-
+    mBestTextPosition[0] = regionCalculator.getTextX();
+    mBestTextPosition[1] = regionCalculator.getTextY();
+    mBestTextPosition[2] = regionCalculator.getTextWidth();
     hasRecalculated = true;
   }
 
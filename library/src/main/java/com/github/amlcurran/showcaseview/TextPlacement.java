@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.amlcurran.showcaseview;
+
+/**
+ * Where a {@link ShowcaseView} puts its text and buttons for a given showcase position. Two
+ * placements are equal if they would lay the views out the same, so the layout only needs
+ * changing when the placement does.
+ */
+final class TextPlacement {
+
+  final int quadrant;
+  // Whether the text is pinned below the status bar, rather than centred, at the edges
+  final boolean adjustTopMargin;
+  final int marginLeft;
+  final int marginTop;
+  final int marginRight;
+  final int marginBottom;
+  final boolean buttonsAtBottom;
+
+  TextPlacement(int quadrant, boolean adjustTopMargin, int marginLeft, int marginTop,
+                int marginRight, int marginBottom, boolean buttonsAtBottom) {
+    this.quadrant = quadrant;
+    this.adjustTopMargin = adjustTopMargin;
+    this.marginLeft = marginLeft;
+    this.marginTop = marginTop;
+    this.marginRight = marginRight;
+    this.marginBottom = marginBottom;
+    this.buttonsAtBottom = buttonsAtBottom;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof TextPlacement)) {
+      return false;
+    }
+    TextPlacement that = (TextPlacement) o;
+    return quadrant == that.quadrant && adjustTopMargin == that.adjustTopMargin &&
+        marginLeft == that.marginLeft && marginTop == that.marginTop &&
+        marginRight == that.marginRight && marginBottom == that.marginBottom &&
+        buttonsAtBottom == that.buttonsAtBottom;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = quadrant;
+    result = 31 * result + (adjustTopMargin ? 1 : 0);
+    result = 31 * result + marginLeft;
+    result = 31 * result + marginTop;
+    result = 31 * result + marginRight;
+    result = 31 * result + marginBottom;
+    result = 31 * result + (buttonsAtBottom ? 1 : 0);
+    return result;
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Rect;
+
+/**
+ * Picks where to put the text around a showcase. Each of the four regions around the showcase
+ * is scored by how much free space it has, not counting any space covered by the image, and the
+ * text goes in the best one. Areas are worked out in longs so they can't overflow on very large
+ * canvases.
+ * <p/>
+ * The result is kept until one of the inputs changes, so calling this every frame is cheap, and
+ * nothing is allocated either way.
+ */
+class TextRegionCalculator {
+
+  static final int REGION_LEFT = 0;
+  static final int REGION_TOP = 1;
+  static final int REGION_RIGHT = 2;
+  static final int REGION_BOTTOM = 3;
+  private static final int REGION_COUNT = 4;
+
+  private final float padding;
+  private final float actionBarOffset;
+
+  // The inputs the current result was worked out from
+  private boolean hasResult;
+  private int canvasWidth;
+  private int canvasHeight;
+  private final Rect showcase = new Rect();
+  private final Rect image = new Rect();
+  private boolean hasImage;
+  private boolean centreText;
+  private float textSize;
+
+  private int region;
+  private long score;
+  private float textX;
+  private float textY;
+  private float textWidth;
+
+  TextRegionCalculator(float padding, float actionBarOffset) {
+    this.padding = padding;
+    this.actionBarOffset = actionBarOffset;
+  }
+
+  /**
+   * Work out where the text should go
+   *
+   * @param showcaseRect the area the text must stay out of
+   * @param imageRect    an image which the text should avoid, or null if there isn't one
+   * @param textSize     the size of the text. Regions thinner than this score nothing
+   * @return true if the placement was recalculated, false if the inputs were the same as last time
+   */
+  boolean calculate(int canvasW, int canvasH, Rect showcaseRect, Rect imageRect,
+                    boolean shouldCentreText, float textSize) {
+    boolean imageGiven = imageRect != null;
+    if (hasResult && canvasW == canvasWidth && canvasH == canvasHeight &&
+        showcase.equals(showcaseRect) && hasImage == imageGiven &&
+        (!imageGiven || image.equals(imageRect)) && centreText == shouldCentreText &&
+        this.textSize == textSize) {
+      return false;
+    }
+    hasResult = true;
+    canvasWidth = canvasW;
+    canvasHeight = canvasH;
+    showcase.set(showcaseRect);
+    hasImage = imageGiven;
+    if (imageGiven) {
+      image.set(imageRect);
+    } else {
+      image.setEmpty();
+    }
+    centreText = shouldCentreText;
+    this.textSize = textSize;
+
+    region = REGION_LEFT;
+    score = scoreRegion(REGION_LEFT);
+    for (int i = REGION_LEFT + 1; i < REGION_COUNT; i++) {
+      long regionScore = scoreRegion(i);
+      if (regionScore > score) {
+        region = i;
+        score = regionScore;
+      }
+    }
+    placeText();
+    return true;
+  }
+
+  private long scoreRegion(int candidate) {
+    int left = regionLeft(candidate);
+    int top = regionTop(candidate);
+    int right = regionRight(candidate);
+    int bottom = regionBottom(candidate);
+    int width = right - left;
+    int height = bottom - top;
+    if (width <= 0 || height <= 0 || Math.min(width, height) < textSize) {
+      return 0;
+    }
+    long area = (long) width * height;
+    if (hasImage) {
+      int overlapWidth = Math.min(right, image.right) - Math.max(left, image.left);
+      int overlapHeight = Math.min(bottom, image.bottom) - Math.max(top, image.top);
+      if (overlapWidth > 0 && overlapHeight > 0) {
+        area -= (long) overlapWidth * overlapHeight;
+      }
+    }
+    return area;
+  }
+
+  private int regionLeft(int candidate) {
+    return candidate == REGION_RIGHT ? showcase.right : 0;
+  }
+
+  private int regionTop(int candidate) {
+    return candidate == REGION_BOTTOM ? showcase.bottom : 0;
+  }
+
+  private int regionRight(int candidate) {
+    return candidate == REGION_LEFT ? showcase.left : canvasWidth;
+  }
+
+  private int regionBottom(int candidate) {
+    return candidate == REGION_TOP ? showcase.top : canvasHeight;
+  }
+
+  private void placeText() {
+    switch (region) {
+    case REGION_LEFT:
+      textX = padding;
+      textY = padding;
+      textWidth = showcase.left - 2 * padding;
+      break;
+    case REGION_TOP:
+      textX = padding;
+      textY = padding + actionBarOffset;
+      textWidth = canvasWidth - 2 * padding;
+      break;
+    case REGION_RIGHT:
+      textX = showcase.right + padding;
+      textY = padding;
+      textWidth = (canvasWidth - showcase.right) - 2 * padding;
+      break;
+    case REGION_BOTTOM:
+      textX = padding;
+      textY = showcase.bottom + padding;
+      textWidth = canvasWidth - 2 * padding;
+      break;
+    }
+    if (centreText) {
+      // Center text vertically or horizontally
+      switch (region) {
+      case REGION_LEFT:
+      case REGION_RIGHT:
+        textY += canvasHeight / 4;
+        break;
+      case REGION_TOP:
+      case REGION_BOTTOM:
+        textWidth /= 2;
+        textX += canvasWidth / 4;
+        break;
+      }
+    } else if (region == REGION_LEFT || region == REGION_RIGHT) {
+      // As text is not centered add actionbar padding if the text is left or right
+      textY += actionBarOffset;
+    }
+  }
+
+  /**
+   * @return which region the text was put in, one of the REGION_ constants
+   */
+  int getRegion() {
+    return region;
+  }
+
+  /**
+   * @return how much free space the chosen region has, in square pixels
+   */
+  long getScore() {
+    return score;
+  }
+
+  float getTextX() {
+    return textX;
+  }
+
+  float getTextY() {
+    return textY;
+  }
+
+  float getTextWidth() {
+    return textWidth;
+  }
+}
@@ -53,51 +53,25 @@ class ActionBarViewWrapper {
    * Return the view which represents the spinner on the ActionBar, or null if there isn't one
    */
   public View getSpinnerView() {
-    try {
-      Field spinnerField = mActionBarViewClass.getDeclaredField("mSpinner");
-      spinnerField.setAccessible(true);
-      return (View) spinnerField.get(mActionBarView);
-    } catch (NoSuchFieldException e) {
-      Log.e("TAG", "Failed to find actionbar spinner", e);
-    } catch (IllegalAccessException e) {
-      Log.e("TAG", "Failed to access actionbar spinner", e);
-    }
-    return null;
+    return (View) readField(mActionBarView, mActionBarViewClass, "mSpinner");
   }
 
   /**
    * Return the view which represents the title on the ActionBar, or null if there isn't one
    */
   public View getTitleView() {
-    try {
-      Field mTitleViewField = mActionBarViewClass.getDeclaredField("mTitleView");
-      mTitleViewField.setAccessible(true);
-      return (View) mTitleViewField.get(mActionBarView);
-    } catch (NoSuchFieldException e) {
-      Log.e("TAG", "Failed to find actionbar title", e);
-    } catch (IllegalAccessException e) {
-      Log.e("TAG", "Failed to access actionbar title", e);
-    }
-    return null;
+    return (View) readField(mActionBarView, mActionBarViewClass, "mTitleView");
   }
 
   /**
    * Return the view which represents the overflow action item on the ActionBar, or null if there isn't one
    */
   public View getOverflowView() {
-    try {
-      Field actionMenuPresenterField = mAbsActionBarViewClass.getDeclaredField("mActionMenuPresenter");
-      actionMenuPresenterField.setAccessible(true);
-      Object actionMenuPresenter = actionMenuPresenterField.get(mActionBarView);
-      Field overflowButtonField = actionMenuPresenter.getClass().getDeclaredField("mOverflowButton");
-      overflowButtonField.setAccessible(true);
-      return (View) overflowButtonField.get(actionMenuPresenter);
-    } catch (IllegalAccessException e) {
-      e.printStackTrace();
-    } catch (NoSuchFieldException e) {
-      e.printStackTrace();
+    Object actionMenuPresenter = readField(mActionBarView, mAbsActionBarViewClass, "mActionMenuPresenter");
+    if (actionMenuPresenter == null) {
+      return null;
     }
-    return null;
+    return (View) readField(actionMenuPresenter, actionMenuPresenter.getClass(), "mOverflowButton");
   }
 
   /**
@@ -105,88 +79,70 @@ class ActionBarViewWrapper {
    * if there isn't one
    */
   public View getMediaRouterButtonView() {
-    try {
-      Field actionMenuPresenterField =
-          mActionBarViewClass.getDeclaredField("mOptionsMenu");
-      actionMenuPresenterField.setAccessible(true);
-      Object optionsMenu = actionMenuPresenterField.get(mActionBarView);
-
-      Field actionItemsField = optionsMenu.getClass().getDeclaredField("mActionItems");
-      actionItemsField.setAccessible(true);
-
-      List actionItems = (ArrayList) actionItemsField.get(optionsMenu);
-      if (null != actionItems) {
-        for (Object obj : actionItems) {
-          System.out.println(obj);
-          Object view = getMediaRouteButton(obj);
-          if (null != view) {
-            return (View) view;
-          }
+    Object optionsMenu = readField(mActionBarView, mActionBarViewClass, "mOptionsMenu");
+    if (optionsMenu == null) {
+      return null;
+    }
+    List actionItems = (ArrayList) readField(optionsMenu, optionsMenu.getClass(), "mActionItems");
+    if (null != actionItems) {
+      for (Object obj : actionItems) {
+        Object view = getMediaRouteButton(obj);
+        if (null != view) {
+          return (View) view;
         }
       }
-
-      return null;
-    } catch (IllegalAccessException e) {
-      e.printStackTrace();
-    } catch (NoSuchFieldException e) {
-      e.printStackTrace();
     }
     return null;
   }
 
   private Object getMediaRouteButton(Object obj) {
-    try {
-      Field f = obj.getClass().getDeclaredField("mActionView");
-      f.setAccessible(true);
-      Object view = f.get(obj);
-      if ("android.support.v7.app.MediaRouteButton".equals(view.getClass().getName())) {
-        return view;
-      }
-    } catch (NoSuchFieldException e) {
-      e.printStackTrace();
-    } catch (IllegalAccessException e) {
-      e.printStackTrace();
+    Object view = readField(obj, obj.getClass(), "mActionView");
+    if (view != null && "android.support.v7.app.MediaRouteButton".equals(view.getClass().getName())) {
+      return view;
     }
     return null;
   }
 
   public View getActionItem(int actionItemId) {
-    try {
-      Field actionMenuPresenterField = mAbsActionBarViewClass.getDeclaredField("mActionMenuPresenter");
-      actionMenuPresenterField.setAccessible(true);
-      Object actionMenuPresenter = actionMenuPresenterField.get(mActionBarView);
-
-      Field menuViewField = actionMenuPresenter.getClass().getSuperclass().getDeclaredField("mMenuView");
-      menuViewField.setAccessible(true);
-      Object menuView = menuViewField.get(actionMenuPresenter);
-
-      Field mChField;
-      if (menuView.getClass().toString().contains("com.actionbarsherlock")) {
-        // There are thousands of superclasses to traverse up
-        // Have to get superclasses because mChildren is private
-        mChField = menuView.getClass().getSuperclass().getSuperclass()
-            .getSuperclass().getSuperclass().getDeclaredField("mChildren");
-      } else if (menuView.getClass().toString().contains("android.support.v7")) {
-        mChField = menuView.getClass().getSuperclass().getSuperclass()
-            .getSuperclass().getDeclaredField("mChildren");
-      } else {
-        mChField = menuView.getClass().getSuperclass().getSuperclass()
-            .getDeclaredField("mChildren");
-      }
-      mChField.setAccessible(true);
-      Object[] mChs = (Object[]) mChField.get(menuView);
-      for (Object mCh : mChs) {
-        if (mCh != null) {
-          View v = (View) mCh;
-          if (v.getId() == actionItemId) {
-            return v;
-          }
+    Object actionMenuPresenter = readField(mActionBarView, mAbsActionBarViewClass, "mActionMenuPresenter");
+    if (actionMenuPresenter == null) {
+      return null;
+    }
+    Object menuView = readField(actionMenuPresenter, actionMenuPresenter.getClass().getSuperclass(), "mMenuView");
+    if (menuView == null) {
+      return null;
+    }
+    // mChildren is private to ViewGroup, which is a different number of superclasses up
+    // depending on whether this is the framework's, ActionBarSherlock's or AppCompat's menu view
+    Field childrenField = FieldCache.getChildrenField(menuView.getClass());
+    if (childrenField == null) {
+      return null;
+    }
+    Object[] mChs = (Object[]) readField(menuView, childrenField);
+    if (mChs == null) {
+      return null;
+    }
+    for (Object mCh : mChs) {
+      if (mCh != null) {
+        View v = (View) mCh;
+        if (v.getId() == actionItemId) {
+          return v;
         }
       }
+    }
+    return null;
+  }
+
+  private static Object readField(Object object, Class<?> declaringClass, String name) {
+    Field field = FieldCache.get(declaringClass, name);
+    return field != null ? readField(object, field) : null;
+  }
+
+  private static Object readField(Object object, Field field) {
+    try {
+      return field.get(object);
     } catch (IllegalAccessException e) {
-      e.printStackTrace();
-    } catch (NoSuchFieldException e) {
-      e.printStackTrace();
+      Log.e("TAG", "Failed to access " + field.getName(), e);
     }
     return null;
   }
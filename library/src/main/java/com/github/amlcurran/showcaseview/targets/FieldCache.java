@@ -0,0 +1,99 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.amlcurran.showcaseview.targets;
+
+import android.util.Log;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A process-wide cache of the private fields {@link ActionBarViewWrapper} reads, so each one is
+ * only looked up through reflection once. Fields which don't exist are remembered too.
+ */
+class FieldCache {
+
+  private static final String TAG = "FieldCache";
+
+  // Stands in for a field which doesn't exist, as the maps can't hold null
+  private static final Object MISSING = new Object();
+
+  private static final ConcurrentHashMap<Class<?>, ConcurrentHashMap<String, Object>> FIELDS =
+      new ConcurrentHashMap<Class<?>, ConcurrentHashMap<String, Object>>();
+  private static final ConcurrentHashMap<Class<?>, Object> CHILDREN_FIELDS =
+      new ConcurrentHashMap<Class<?>, Object>();
+
+  /**
+   * @return the accessible field declared by the class with the given name, or null if there
+   * isn't one
+   */
+  static Field get(Class<?> type, String name) {
+    ConcurrentHashMap<String, Object> fields = FIELDS.get(type);
+    if (fields == null) {
+      fields = new ConcurrentHashMap<String, Object>();
+      ConcurrentHashMap<String, Object> existing = FIELDS.putIfAbsent(type, fields);
+      if (existing != null) {
+        fields = existing;
+      }
+    }
+    Object field = fields.get(name);
+    if (field == null) {
+      field = resolve(type, name);
+      fields.putIfAbsent(name, field);
+    }
+    return field == MISSING ? null : (Field) field;
+  }
+
+  private static Object resolve(Class<?> type, String name) {
+    try {
+      Field field = type.getDeclaredField(name);
+      field.setAccessible(true);
+      return field;
+    } catch (NoSuchFieldException e) {
+      Log.w(TAG, "Failed to find " + name + " in " + type.getName(), e);
+      return MISSING;
+    }
+  }
+
+  /**
+   * @return the mChildren field of the ViewGroup which the class extends, or null if it
+   * can't be found
+   */
+  static Field getChildrenField(Class<?> viewClass) {
+    Object field = CHILDREN_FIELDS.get(viewClass);
+    if (field == null) {
+      field = MISSING;
+      // How far up ViewGroup is depends on the action bar implementation
+      for (Class<?> type = viewClass; type != null; type = type.getSuperclass()) {
+        if (hasDeclaredField(type, "mChildren")) {
+          field = get(type, "mChildren");
+          break;
+        }
+      }
+      CHILDREN_FIELDS.putIfAbsent(viewClass, field);
+    }
+    return field == MISSING ? null : (Field) field;
+  }
+
+  private static boolean hasDeclaredField(Class<?> type, String name) {
+    for (Field field : type.getDeclaredFields()) {
+      if (field.getName().equals(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -18,13 +18,48 @@ package com.github.amlcurran.showcaseview.targets;
 
 import android.app.Activity;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 /**
  * Base class which uses reflection to determine how to showcase Action Items and Action Views.
+ * <p/>
+ * The kind of action bar an Activity class uses is worked out once, from the names of its
+ * superclasses, and then remembered. Apps whose Activities don't extend one of the usual base
+ * classes by name can register them up front instead.
  */
-class ReflectorFactory {
+public class ReflectorFactory {
+
+  private static final Map<Class<?>, Reflector.ActionBarType> ACTION_BAR_TYPES =
+      Collections.synchronizedMap(new WeakHashMap<Class<?>, Reflector.ActionBarType>());
+
+  private ReflectorFactory() {
+  }
 
-  public static Reflector getReflectorForActivity(Activity activity) {
-    switch (searchForActivitySuperClass(activity)) {
+  /**
+   * Treat the Activity class as using the framework's action bar
+   */
+  public static void registerStandardActivity(Class<? extends Activity> activityClass) {
+    ACTION_BAR_TYPES.put(activityClass, Reflector.ActionBarType.STANDARD);
+  }
+
+  /**
+   * Treat the Activity class as using AppCompat's action bar
+   */
+  public static void registerAppCompatActivity(Class<? extends Activity> activityClass) {
+    ACTION_BAR_TYPES.put(activityClass, Reflector.ActionBarType.APP_COMPAT);
+  }
+
+  /**
+   * Treat the Activity class as using ActionBarSherlock's action bar
+   */
+  public static void registerSherlockActivity(Class<? extends Activity> activityClass) {
+    ACTION_BAR_TYPES.put(activityClass, Reflector.ActionBarType.ACTIONBAR_SHERLOCK);
+  }
+
+  static Reflector getReflectorForActivity(Activity activity) {
+    switch (getActionBarType(activity.getClass())) {
     case STANDARD:
       return new ActionBarReflector(activity);
     case APP_COMPAT:
@@ -35,13 +70,23 @@ class ReflectorFactory {
     return null;
   }
 
-  private static Reflector.ActionBarType searchForActivitySuperClass(Activity activity) {
-    Class currentLevel = activity.getClass();
+  private static Reflector.ActionBarType getActionBarType(Class<? extends Activity> activityClass) {
+    Reflector.ActionBarType type = ACTION_BAR_TYPES.get(activityClass);
+    if (type == null) {
+      type = searchForActivitySuperClass(activityClass);
+      ACTION_BAR_TYPES.put(activityClass, type);
+    }
+    return type;
+  }
+
+  private static Reflector.ActionBarType searchForActivitySuperClass(Class<?> activityClass) {
+    Class currentLevel = activityClass;
     while (currentLevel != Activity.class) {
-      if (currentLevel.getSimpleName().equals("SherlockActivity") || currentLevel.getSimpleName().equals("SherlockFragmentActivity")) {
+      String name = currentLevel.getSimpleName();
+      if (name.equals("SherlockActivity") || name.equals("SherlockFragmentActivity")) {
         return Reflector.ActionBarType.ACTIONBAR_SHERLOCK;
       }
-      if (currentLevel.getSimpleName().equals("ActionBarActivity")) {
+      if (name.equals("ActionBarActivity") || name.equals("AppCompatActivity")) {
         return Reflector.ActionBarType.APP_COMPAT;
       }
       currentLevel = currentLevel.getSuperclass();
@@ -16,12 +16,10 @@
 
 package com.github.amlcurran.showcaseview.targets;
 
-import com.github.amlcurran.showcaseview.R;
+import com.github.amlcurran.showcaseview.ShowcaseMetrics;
 
 import android.app.Activity;
-import android.content.res.Resources;
 import android.graphics.Point;
-import android.util.TypedValue;
 import android.view.View;
 
 /**
@@ -90,7 +88,7 @@ public class ViewTarget implements Target {
     if (mRadius == 0) {
       mRadius = Math.max(mView.getMeasuredHeight(), mView.getMeasuredWidth()) / 2;
     }
-    int outerRadius = mOuterRadius != -1 ? mOuterRadius : (int) mView.getResources().getDimension(R.dimen.showcase_radius_outer);
+    int outerRadius = mOuterRadius != -1 ? mOuterRadius : getMetrics().getOuterRadius();
     return mRadius + outerRadius;
   }
 
@@ -100,7 +98,10 @@ public class ViewTarget implements Target {
   }
 
   public int dpToPixels(int dp) {
-    Resources resources = Resources.getSystem();
-    return (int) Math.ceil(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, dp, resources.getDisplayMetrics()));
+    return getMetrics().dpToPixels(dp);
+  }
+
+  private ShowcaseMetrics getMetrics() {
+    return ShowcaseMetrics.get(mView.getResources());
   }
 }